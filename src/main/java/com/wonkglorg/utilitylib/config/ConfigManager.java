@@ -1,8 +1,10 @@
 package com.wonkglorg.utilitylib.config;
 
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.sync.ConfigSync;
 import com.wonkglorg.utilitylib.config.types.Config;
 import com.wonkglorg.utilitylib.config.types.ConfigYML;
-import org.bukkit.Bukkit;
+import com.wonkglorg.utilitylib.config.types.ResourceProvisioner;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 
@@ -10,6 +12,7 @@ import java.io.File;
 import java.nio.file.Path;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.logging.Level;
@@ -21,6 +24,10 @@ import java.util.logging.Logger;
  * <br>
  * <br>
  * BEFORE USING THIS CLASS MAKE SURE TO CALL {@link ConfigManager#createInstance(JavaPlugin)} TO INITIALIZE THE INSTANCE (only needs to be done once during the whole runtime)
+ * <br>
+ * <br>
+ * Additional scoped managers can be created with {@link ConfigManager#ConfigManager(JavaPlugin)}, managers using the same {@link SharedConfigCache}
+ * share the files they have in common.
  *
  * @author Wonkglorg
  */
@@ -29,15 +36,27 @@ public final class ConfigManager {
     /**
      * The Logger instance
      */
-    private final Logger LOGGER = Bukkit.getLogger();
+    private final Logger LOGGER;
     /**
-     * The JavaPlugin instance
+     * The host providing the data folder, resources and logger
      */
-    private final JavaPlugin plugin;
+    private final ConfigHost host;
     /**
      * The config map which contains all the configs
      */
     private final Map<Class<? extends Config>, Map<String, Config>> configMap = new HashMap<>();
+    /**
+     * Keeps the configs in sync with other servers, null if not synced
+     */
+    private ConfigSync sync;
+    /**
+     * The cache to share configs with other managers, null if configs are not shared
+     */
+    private SharedConfigCache sharedCache;
+    /**
+     * The configs this manager acquired from a shared cache and the cache they were acquired from
+     */
+    private final Map<ConfigYML, SharedConfigCache> sharedConfigs = new IdentityHashMap<>();
 
     private static ConfigManager instance;
 
@@ -66,21 +85,160 @@ public final class ConfigManager {
         return instance;
     }
 
-    private ConfigManager(JavaPlugin plugin) {
-        this.plugin = plugin;
+    /**
+     * Creates a new scoped manager independent of the instance created by {@link #createInstance(JavaPlugin)}
+     *
+     * @param plugin the plugin to create the manager for
+     */
+    public ConfigManager(JavaPlugin plugin) {
+        this(ConfigHost.of(plugin));
+    }
+
+    /**
+     * Creates a new scoped manager for any host, for example a {@link com.wonkglorg.utilitylib.config.host.FileSystemConfigHost} to run without a server
+     *
+     * @param host the host providing the data folder, resources and logger
+     */
+    public ConfigManager(@NotNull ConfigHost host) {
+        this.host = host;
+        this.LOGGER = host.getLogger();
     }
 
+    /**
+     * Shares all {@link ConfigYML}s added afterwards with other managers using the same cache, configs of files already shared are
+     * replaced by the shared instance and not parsed again
+     *
+     * @param sharedCache the cache to use (usually {@link SharedConfigCache#global()}) or null to stop sharing newly added configs
+     */
+    public synchronized void setSharedCache(SharedConfigCache sharedCache) {
+        this.sharedCache = sharedCache;
+    }
 
     /**
      * Adds a config to the manager
      *
      * @param name   the name to reference the config by (can overwrite existing configs if the name is the same)
      * @param config the config to add
+     * @return the added config, this is the shared instance if the file is already used by another manager with the same {@link SharedConfigCache}
+     */
+    public synchronized Config add(@NotNull String name, @NotNull Config config) {
+        Config added = config;
+        boolean loaded = false;
+        if (sharedCache != null && config instanceof ConfigYML yml) {
+            ConfigYML shared = sharedCache.acquire(yml);
+            if (sharedConfigs.putIfAbsent(shared, sharedCache) != null) {
+                //this manager already holds a reference to the file
+                sharedCache.release(shared);
+            }
+            loaded = shared != yml;
+            added = shared;
+        }
+        Config previous = configMap.computeIfAbsent(added.getClass(), k -> new HashMap<>()).put(name, added);
+        if (previous != null && previous != added) {
+            releaseIfUnused(previous);
+        }
+        if (!loaded) {
+            added.silentLoad();
+        }
+        if (sync != null && added instanceof ConfigYML yml) {
+            sync.track(name, yml);
+        }
+        return added;
+    }
+
+    /**
+     * Removes a config from the manager without saving it
+     *
+     * @param name the name the config was added with
+     * @return the removed config or null if no config was added with this name
+     */
+    public synchronized Config remove(@NotNull String name) {
+        for (Map<String, Config> configs : configMap.values()) {
+            Config removed = configs.remove(name);
+            if (removed != null) {
+                if (sync != null) {
+                    sync.untrack(name);
+                }
+                releaseIfUnused(removed);
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Releases a shared config once no name of this manager references it anymore
+     *
+     * @param config the config no longer referenced by a name
+     */
+    private void releaseIfUnused(Config config) {
+        if (!(config instanceof ConfigYML yml) || !sharedConfigs.containsKey(yml)) {
+            return;
+        }
+        for (Map<String, Config> configs : configMap.values()) {
+            if (configs.containsValue(config)) {
+                return;
+            }
+        }
+        sharedConfigs.remove(yml).release(yml);
+    }
+
+    /**
+     * Removes all configs from the manager without saving them and releases all shared configs, the manager can be reused afterwards
+     */
+    public synchronized void close() {
+        configMap.clear();
+        sharedConfigs.forEach((config, cache) -> cache.release(config));
+        sharedConfigs.clear();
+        setSync(null);
+    }
+
+    /**
+     * Syncs all {@link ConfigYML}s of this manager with other servers by the name they were added with, changes are published after every load and save
+     *
+     * @param sync the sync to use or null to stop syncing
+     */
+    public synchronized void setSync(ConfigSync sync) {
+        if (this.sync != null && this.sync != sync) {
+            this.sync.close();
+        }
+        this.sync = sync;
+        if (sync == null) {
+            return;
+        }
+        for (Map<String, Config> configs : configMap.values()) {
+            configs.forEach((name, config) -> {
+                if (config instanceof ConfigYML yml) {
+                    sync.track(name, yml);
+                }
+            });
+        }
+    }
+
+    /**
+     * @return the sync of this manager or null if not synced
+     */
+    public synchronized ConfigSync getSync() {
+        return sync;
+    }
+
+    /**
+     * Publishes the changes of all synced configs
+     */
+    private void publishChanges() {
+        if (sync != null) {
+            sync.publishChanges();
+        }
+    }
+
+    /**
+     * Adds many configs to the manager, the files of all configs are created first with a single pass over the plugin jar
+     *
+     * @param configs the configs to add by the name to reference them by
      */
-    public synchronized void add(@NotNull String name, @NotNull Config config) {
-        configMap.computeIfAbsent(config.getClass(), k -> new HashMap<>());
-        configMap.get(config.getClass()).put(name, config);
-        config.silentLoad();
+    public synchronized void addAll(@NotNull Map<String, ? extends Config> configs) {
+        ResourceProvisioner.provision(host, configs.values());
+        configs.forEach(this::add);
     }
 
     /**
@@ -88,6 +246,7 @@ public final class ConfigManager {
      */
     public synchronized void load() {
         configMap.values().forEach(configs -> configs.values().forEach(Config::load));
+        publishChanges();
     }
 
     /**
@@ -95,6 +254,7 @@ public final class ConfigManager {
      */
     public synchronized void silentLoad() {
         configMap.values().forEach(configs -> configs.values().forEach(Config::silentLoad));
+        publishChanges();
     }
 
     /**
@@ -102,6 +262,7 @@ public final class ConfigManager {
      */
     public synchronized void save() {
         configMap.values().forEach(configs -> configs.values().forEach(Config::save));
+        publishChanges();
     }
 
     /**
@@ -109,6 +270,7 @@ public final class ConfigManager {
      */
     public synchronized void silentSave() {
         configMap.values().forEach(configs -> configs.values().forEach(Config::silentSave));
+        publishChanges();
     }
 
     /**
@@ -170,10 +332,10 @@ public final class ConfigManager {
      * Adds all config yml files from a given path (the name they are stored under is the file name)
      *
      * @param path the path to add the configs from
-     * @return a map of the configs added
+     * @return a map of the configs added, configs already shared through the {@link SharedConfigCache} are the shared instances
      */
     public synchronized Map<String, Config> addAllConfigsFromPath(Path path) {
-        File[] files = Path.of(plugin.getDataFolder().getPath(), path.toString()).toFile().listFiles();
+        File[] files = Path.of(host.getDataFolder().getPath(), path.toString()).toFile().listFiles();
         Map<String, Config> tempConfigs = new HashMap<>();
         if (files == null) {
             return null;
@@ -185,9 +347,8 @@ public final class ConfigManager {
             if (!file.getName().endsWith(".yml")) {
                 continue;
             }
-            Config config = new ConfigYML(plugin, file.toPath());
-            add(config.name(), config);
-            tempConfigs.put(file.getName(), config);
+            Config config = new ConfigYML(host, file.toPath());
+            tempConfigs.put(file.getName(), add(config.name(), config));
         }
 
         return tempConfigs;
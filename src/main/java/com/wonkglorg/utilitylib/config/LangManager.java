@@ -1,16 +1,27 @@
 package com.wonkglorg.utilitylib.config;
 
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.lang.ArgumentLayout;
+import com.wonkglorg.utilitylib.config.lang.ComponentCache;
+import com.wonkglorg.utilitylib.config.lang.LangDiff;
+import com.wonkglorg.utilitylib.config.lang.LangValidator;
+import com.wonkglorg.utilitylib.config.lang.MessageBundle;
+import com.wonkglorg.utilitylib.config.lang.MessageKey;
+import com.wonkglorg.utilitylib.config.lang.MessageTemplate;
 import com.wonkglorg.utilitylib.config.types.Config;
 import com.wonkglorg.utilitylib.config.types.LangConfig;
-import org.bukkit.Bukkit;
+import com.wonkglorg.utilitylib.config.types.ResourceProvisioner;
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
 
 import java.io.File;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.DoubleStream;
@@ -23,6 +34,10 @@ import static java.util.stream.IntStream.*;
  * <br>
  * <br>
  * BEFORE USING THIS CLASS MAKE SURE TO CALL {@link ConfigManager#createInstance(JavaPlugin)} TO INITIALIZE THE INSTANCE  (only needs to be done once during the whole runtime)
+ * <br>
+ * <br>
+ * Additional scoped managers can be created with {@link LangManager#LangManager(JavaPlugin)}, managers using the same {@link SharedConfigCache}
+ * share the lang files they have in common.
  *
  * @author Wonkglorg
  */
@@ -31,7 +46,7 @@ public final class LangManager {
     /**
      * The Logger instance
      */
-    private final Logger LOGGER = Bukkit.getLogger();
+    private final Logger LOGGER;
     /**
      * The lang map which contains all the language configs
      */
@@ -40,14 +55,34 @@ public final class LangManager {
      * The replacer map which contains all the values to be replaced when called
      */
     private final Map<String, String> replacerMap = new ConcurrentHashMap<>();
+    /**
+     * The cache of deserialized components for each lang message
+     */
+    private final ComponentCache componentCache = new ComponentCache();
     /**
      * The default language
      */
     private Locale defaultLang = Locale.ENGLISH;
     /**
-     * The JavaPlugin instance
+     * If all languages should be compared against the default language after loading
+     */
+    private boolean validateOnLoad = false;
+    /**
+     * The host providing the data folder, resources and logger
+     */
+    private final ConfigHost host;
+    /**
+     * The cache to share lang files with other managers, null if lang files are not shared
      */
-    private final JavaPlugin plugin;
+    private SharedConfigCache sharedCache;
+    /**
+     * The lang files this manager acquired from a shared cache and the cache they were acquired from
+     */
+    private final Map<LangConfig, SharedConfigCache> sharedConfigs = new IdentityHashMap<>();
+    /**
+     * The array indexed snapshot of all messages, null until first requested, rebuilt whenever languages or replacements change
+     */
+    private volatile MessageBundle bundle;
 
     private static LangManager instance;
 
@@ -87,8 +122,79 @@ public final class LangManager {
         return instance;
     }
 
-    private LangManager(JavaPlugin plugin) {
-        this.plugin = plugin;
+    /**
+     * Creates a new scoped manager independent of the instance created by {@link #createInstance(JavaPlugin)}
+     *
+     * @param plugin the plugin to create the manager for
+     */
+    public LangManager(JavaPlugin plugin) {
+        this(ConfigHost.of(plugin));
+    }
+
+    /**
+     * Creates a new scoped manager for any host, for example a {@link com.wonkglorg.utilitylib.config.host.FileSystemConfigHost} to run without a server
+     *
+     * @param host the host providing the data folder, resources and logger
+     */
+    public LangManager(@NotNull ConfigHost host) {
+        this.host = host;
+        this.LOGGER = host.getLogger();
+    }
+
+    /**
+     * Shares all lang files added afterwards with other managers using the same cache, lang files already shared are
+     * replaced by the shared instance and not parsed again
+     *
+     * @param sharedCache the cache to use (usually {@link SharedConfigCache#global()}) or null to stop sharing newly added lang files
+     */
+    public synchronized void setSharedCache(SharedConfigCache sharedCache) {
+        this.sharedCache = sharedCache;
+    }
+
+    /**
+     * Gets the shared instance of a lang file if a shared cache is set
+     *
+     * @param config the lang file
+     * @return the shared instance or the given lang file if it is not shared
+     */
+    private LangConfig share(LangConfig config) {
+        if (sharedCache == null) {
+            return config;
+        }
+        LangConfig shared = sharedCache.acquire(config);
+        if (sharedConfigs.putIfAbsent(shared, sharedCache) != null) {
+            //this manager already holds a reference to the file
+            sharedCache.release(shared);
+        }
+        return shared;
+    }
+
+    /**
+     * Releases the templates of a lang file and the file itself if it was shared, once no locale of this manager uses it anymore
+     *
+     * @param config the lang file no longer used by a locale
+     */
+    private void releaseIfUnused(LangConfig config) {
+        if (config == null || langMap.containsValue(config)) {
+            return;
+        }
+        config.releaseTemplates(replacerMap);
+        SharedConfigCache cache = sharedConfigs.remove(config);
+        if (cache != null) {
+            cache.release(config);
+        }
+    }
+
+    /**
+     * Removes all languages from the manager without saving them and releases all shared lang files, the manager can be reused afterwards
+     */
+    public synchronized void close() {
+        langMap.values().forEach(config -> config.releaseTemplates(replacerMap));
+        langMap.clear();
+        componentCache.clear();
+        sharedConfigs.forEach((config, cache) -> cache.release(config));
+        sharedConfigs.clear();
+        bundle = null;
     }
 
     /**
@@ -99,6 +205,20 @@ public final class LangManager {
      */
     public void replace(String replace, String with) {
         replacerMap.put(replace, with);
+        langMap.values().forEach(LangConfig::invalidateTemplates);
+        componentCache.clear();
+        synchronized (this) {
+            refreshBundle();
+        }
+    }
+
+    /**
+     * Sets the function used to turn lang messages into components (default: MiniMessage), clears all cached components
+     *
+     * @param deserializer the deserializer, example: {@code LegacyComponentSerializer.legacyAmpersand()::deserialize}
+     */
+    public void setComponentDeserializer(@NotNull Function<String, Component> deserializer) {
+        componentCache.setDeserializer(deserializer);
     }
 
     /**
@@ -108,9 +228,17 @@ public final class LangManager {
      * @param defaultConfig the default config
      */
     public synchronized void setDefaultLang(Locale defaultLang, LangConfig defaultConfig) {
-        langMap.put(defaultLang, defaultConfig);
+        LangConfig config = share(defaultConfig);
+        LangConfig previous = langMap.put(defaultLang, config);
         this.defaultLang = defaultLang;
-        defaultConfig.silentLoad();
+        if (previous != config) {
+            releaseIfUnused(previous);
+        }
+        if (config == defaultConfig) {
+            ResourceProvisioner.provision(host, List.of(config));
+            config.silentLoad();
+        }
+        refreshBundle();
     }
 
     /**
@@ -120,6 +248,7 @@ public final class LangManager {
      */
     public synchronized void setDefaultLang(Locale defaultLang) {
         this.defaultLang = defaultLang;
+        refreshBundle();
     }
 
     /**
@@ -129,11 +258,39 @@ public final class LangManager {
      * @param languageConfig the language config
      */
     public synchronized void addLanguage(LangConfig languageConfig, Locale locale, Locale... extraLocale) {
-        langMap.putIfAbsent(locale, languageConfig);
-        for (Locale loc : extraLocale) {
-            langMap.putIfAbsent(loc, languageConfig);
+        List<Locale> locales = new ArrayList<>(extraLocale.length + 1);
+        locales.add(locale);
+        locales.addAll(Arrays.asList(extraLocale));
+        if (registerLanguage(languageConfig, locales, true)) {
+            refreshBundle();
+        }
+    }
+
+    /**
+     * Registers a language for all locales without a language yet, without rebuilding the message bundle
+     *
+     * @param languageConfig the language config
+     * @param locales        the locales the config should apply to
+     * @param provision      true to create the file from the plugin jar if it does not exist, false if it was already provisioned
+     * @return true if the language was added for at least one locale
+     */
+    private boolean registerLanguage(LangConfig languageConfig, Collection<Locale> locales, boolean provision) {
+        LangConfig config = share(languageConfig);
+        for (Locale locale : locales) {
+            langMap.putIfAbsent(locale, config);
         }
-        languageConfig.silentLoad();
+        if (!langMap.containsValue(config)) {
+            //every locale already has a language, the acquired reference is not needed
+            releaseIfUnused(config);
+            return false;
+        }
+        if (config == languageConfig) {
+            if (provision) {
+                ResourceProvisioner.provision(host, List.of(config));
+            }
+            config.silentLoad();
+        }
+        return true;
     }
 
     /**
@@ -151,18 +308,33 @@ public final class LangManager {
             LOGGER.log(Level.WARNING, "No locale found for file: " + langName);
             return;
         }
-        for (Locale locale : locales) {
-            addLanguage(languageConfig, locale);
-        }
+        Set<Locale> allLocales = new LinkedHashSet<>(locales);
         for (String extraLangName : extraLangNames) {
             locales = shortNameToLocaleMapper.get(extraLangName);
             if (locales == null) {
                 LOGGER.log(Level.WARNING, "No locale found for file: " + extraLangName);
                 continue;
             }
-            for (Locale locale : locales) {
-                addLanguage(languageConfig, locale);
-            }
+            allLocales.addAll(locales);
+        }
+        if (registerLanguage(languageConfig, allLocales, true)) {
+            refreshBundle();
+        }
+    }
+
+    /**
+     * Adds many languages to the manager, the files of all languages are created first with a single pass over the plugin jar
+     *
+     * @param languages the language configs by the locale they apply to
+     */
+    public synchronized void addLanguages(@NotNull Map<Locale, LangConfig> languages) {
+        ResourceProvisioner.provision(host, languages.values());
+        boolean added = false;
+        for (Map.Entry<Locale, LangConfig> entry : languages.entrySet()) {
+            added |= registerLanguage(entry.getValue(), List.of(entry.getKey()), false);
+        }
+        if (added) {
+            refreshBundle();
         }
     }
 
@@ -179,17 +351,115 @@ public final class LangManager {
 
     public synchronized void load() {
         langMap.values().forEach(Config::silentLoad);
-
+        componentCache.clear();
+        if (validateOnLoad) {
+            logDiffs(compareLanguages(true));
+        }
+        refreshBundle();
     }
 
     public synchronized void silentLoad() {
         langMap.values().forEach(Config::silentLoad);
+        componentCache.clear();
+        if (validateOnLoad) {
+            compareLanguages(true);
+        }
+        refreshBundle();
 
         if (defaultLang == null) {
             LOGGER.log(Level.WARNING, "No default language selected!");
         }
     }
 
+    /**
+     * Compares the keys and placeholders of all languages against the default language (in parallel)
+     *
+     * @param fillFallbacks true to use the default language values for all keys missing in a language, the fallback values only apply
+     *                      to this manager so managers sharing a lang file can use different default languages
+     * @return the differences of each language or an empty map if no default language is registered
+     */
+    public synchronized Map<LangConfig, LangDiff> validateLanguages(boolean fillFallbacks) {
+        Map<LangConfig, LangDiff> diffs = compareLanguages(fillFallbacks);
+        refreshBundle();
+        return diffs;
+    }
+
+    /**
+     * Compares all languages against the default language without rebuilding the message bundle, see {@link #validateLanguages(boolean)}
+     */
+    private Map<LangConfig, LangDiff> compareLanguages(boolean fillFallbacks) {
+        LangConfig defaultConfig = langMap.get(defaultLang);
+        if (defaultConfig == null) {
+            LOGGER.log(Level.WARNING, "No default language to validate against!");
+            return Map.of();
+        }
+        Map<LangConfig, LangDiff> diffs = LangValidator.validate(defaultConfig, langMap.values(), fillFallbacks, replacerMap);
+        componentCache.clear();
+        return diffs;
+    }
+
+    /**
+     * Gets the array indexed snapshot of all messages, built on first request from all registered languages and replacements.
+     * The bundle is rebuilt by the manager whenever languages are added or loaded or replacements change.
+     *
+     * @return the current message bundle
+     */
+    public MessageBundle getBundle() {
+        MessageBundle current = bundle;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (bundle == null) {
+                bundle = MessageBundle.build(langMap, defaultLang, replacerMap);
+            }
+            return bundle;
+        }
+    }
+
+    /**
+     * Rebuilds the message bundle, only needed after changing values of a lang file directly instead of through this manager
+     *
+     * @return the new message bundle
+     */
+    public synchronized MessageBundle rebuildBundle() {
+        bundle = MessageBundle.build(langMap, defaultLang, replacerMap);
+        return bundle;
+    }
+
+    /**
+     * Rebuilds the message bundle if it has been requested before, lookups keep using the previous bundle until the new one is built
+     */
+    private void refreshBundle() {
+        if (bundle != null) {
+            bundle = MessageBundle.build(langMap, defaultLang, replacerMap);
+        }
+    }
+
+    /**
+     * @param validateOnLoad true to compare all languages against the default language after every load and fill missing keys from the default language
+     */
+    public synchronized void setValidateOnLoad(boolean validateOnLoad) {
+        this.validateOnLoad = validateOnLoad;
+    }
+
+    private void logDiffs(Map<LangConfig, LangDiff> diffs) {
+        for (LangDiff diff : diffs.values()) {
+            if (diff.isEmpty()) {
+                continue;
+            }
+            if (!diff.missingKeys().isEmpty()) {
+                LOGGER.log(Level.WARNING, diff.name() + " is missing " + diff.missingKeys().size() + " keys: " + diff.missingKeys());
+            }
+            if (!diff.extraKeys().isEmpty()) {
+                LOGGER.log(Level.WARNING, diff.name() + " has " + diff.extraKeys().size() + " unknown keys: " + diff.extraKeys());
+            }
+            for (var mismatch : diff.placeholderMismatches().entrySet()) {
+                LOGGER.log(Level.WARNING, diff.name() + " placeholders of " + mismatch.getKey() + " differ from the default language: " + mismatch.getValue());
+            }
+        }
+    }
+
     public synchronized Config getDefaultLang() {
         try {
             return langMap.get(defaultLang);
@@ -213,7 +483,7 @@ public final class LangManager {
      * Adds all language files from a given path, the path should be relative to the plugin data folder, the language files should be named after the language they represent as per {@link Locale#getLanguage()} standard naming conventions (this does not copy them from the resources folder should be used to let the plugin user add more langs on their own without code changes)
      */
     public synchronized void addAllLangFilesFromPath(Path path) {
-        File[] files = Path.of(plugin.getDataFolder().getPath(), path.toString()).toFile().listFiles();
+        File[] files = Path.of(host.getDataFolder().getPath(), path.toString()).toFile().listFiles();
         if (files == null) {
             LOGGER.log(Level.WARNING, "No available language files loaded");
             return;
@@ -234,7 +504,7 @@ public final class LangManager {
             }
 
             for (Locale locale : locales) {
-                LangConfig langConfig = new LangConfig(plugin, path.resolve(file.getName()).toString());
+                LangConfig langConfig = new LangConfig(host, path.resolve(file.getName()).toString());
                 addLanguage(langConfig, locale);
             }
 
@@ -302,37 +572,313 @@ public final class LangManager {
      */
     @Contract(pure = true, value = "_,null,null -> null; _,_,!null -> !null")
     public String getValue(final Locale locale, final String key, final String defaultValue) {
-        LangConfig config;
-
-        var configOptional = getAnyValidLangConfig(locale);
-        if (configOptional.isPresent()) {
-            config = configOptional.get();
-        } else {
-            Bukkit.getLogger().log(Level.INFO, "No lang file could be loaded for request: " + key + " using default value!");
+        MessageTemplate template = getTemplate(locale, key);
+        if (template == null) {
             return defaultValue;
         }
+        return template.getStaticValue();
+    }
 
+    /**
+     * Gets a value from the language file with replacements applied and dynamic placeholders filled in the same pass.
+     * Named differently from {@link #getValue(Locale, String, String)} so a single placeholder argument is never mistaken for a default value.
+     *
+     * <p>Example:
+     * <pre>
+     *     {@code langManager.format(locale, "join-message", "player", player.getName(), "amount", 5);}
+     * </pre>
+     *
+     * @param locale the locale to get the value from
+     * @param key    the key to get by
+     * @param args   alternating placeholder names (without the placeholder char) and their values
+     * @return the returned result or the key if no result was found
+     */
+    @Contract(pure = true)
+    public String format(final Locale locale, final String key, final Object... args) {
+        MessageTemplate template = getTemplate(locale, key);
+        if (template == null) {
+            return key;
+        }
+        return template.render(args);
+    }
 
-        String editString = config.getString(key);
-        if (editString == null) {
-            return defaultValue;
+    /**
+     * Gets a value from the language file with replacements applied and dynamic placeholders filled in the same pass
+     *
+     * @param player the player to determine the locale to get the value from
+     * @param key    the key to get by
+     * @param args   alternating placeholder names (without the placeholder char) and their values
+     * @return the returned result or the key if no result was found
+     */
+    @Contract(pure = true)
+    public String format(final Player player, final String key, final Object... args) {
+        return format(player.locale(), key, args);
+    }
+
+    /**
+     * Gets a value from the message bundle with dynamic placeholders filled, the key and locale are resolved to array indexes
+     * so no lang file is searched
+     *
+     * @param locale the locale to get the value from
+     * @param key    the key to get by
+     * @param args   alternating placeholder names (without the placeholder char) and their values
+     * @return the returned result or the key if no result was found
+     */
+    @Contract(pure = true)
+    public String format(final Locale locale, final MessageKey key, final Object... args) {
+        MessageBundle current = getBundle();
+        MessageTemplate template = current.get(current.localeIndex(locale), key.id(current));
+        if (template == null) {
+            return key.key();
         }
+        return template.render(args);
+    }
+
+    /**
+     * Gets a value from the message bundle with dynamic placeholders filled
+     *
+     * @param player the player to determine the locale to get the value from
+     * @param key    the key to get by
+     * @param args   alternating placeholder names (without the placeholder char) and their values
+     * @return the returned result or the key if no result was found
+     */
+    @Contract(pure = true)
+    public String format(final Player player, final MessageKey key, final Object... args) {
+        return format(player.locale(), key, args);
+    }
 
-        for (var mapValue : replacerMap.entrySet()) {
-            editString = editString.replace(mapValue.getKey(), mapValue.getValue());
+    /**
+     * Gets a value from the message bundle with positional values filled, the slots of the message are resolved to argument indexes
+     * once per layout so no value is searched by name
+     *
+     * <p>Example:
+     * <pre>
+     *     {@code static final ArgumentLayout JOIN_ARGS = MessageTemplate.layout("player", "amount");}
+     *     {@code langManager.format(locale, JOIN, JOIN_ARGS, player.getName(), 5);}
+     * </pre>
+     *
+     * @param locale the locale to get the value from
+     * @param key    the key to get by
+     * @param layout the placeholder names of the values
+     * @param values the values in the order of the layout
+     * @return the returned result or the key if no result was found
+     */
+    @Contract(pure = true)
+    public String format(final Locale locale, final MessageKey key, final ArgumentLayout layout, final Object... values) {
+        MessageBundle current = getBundle();
+        MessageTemplate template = current.get(current.localeIndex(locale), key.id(current));
+        if (template == null) {
+            return key.key();
         }
+        return template.render(layout, values);
+    }
 
-        if (config.isUpdateRequest()) {
-            config.updateReplacerMap();
+    /**
+     * Gets a value from the message bundle as a component with dynamic placeholders filled, see {@link #getComponent(Locale, String, Object...)}
+     *
+     * @param locale the locale to get the value from
+     * @param key    the key to get by
+     * @param args   alternating placeholder names (without the placeholder char) and their values
+     * @return the component or the key as text if no result was found
+     */
+    public Component getComponent(final Locale locale, final MessageKey key, final Object... args) {
+        MessageBundle current = getBundle();
+        MessageTemplate template = current.get(current.localeIndex(locale), key.id(current));
+        if (template == null) {
+            return Component.text(key.key());
+        }
+        return componentCache.get(template, args);
+    }
 
+    /**
+     * Gets a value from the message bundle as a component with positional values filled, see {@link #format(Locale, MessageKey, ArgumentLayout, Object...)}
+     *
+     * @param locale the locale to get the value from
+     * @param key    the key to get by
+     * @param layout the placeholder names of the values
+     * @param values the values in the order of the layout
+     * @return the component or the key as text if no result was found
+     */
+    public Component getComponent(final Locale locale, final MessageKey key, final ArgumentLayout layout, final Object... values) {
+        MessageBundle current = getBundle();
+        MessageTemplate template = current.get(current.localeIndex(locale), key.id(current));
+        if (template == null) {
+            return Component.text(key.key());
         }
+        return componentCache.get(template, layout, values);
+    }
+
+    /**
+     * Gets a value as a component, the parsed component is cached until the lang files are reloaded
+     *
+     * @param locale the locale to get the value from
+     * @param key    the key to get by
+     * @return the component or the key as text if no result was found
+     */
+    public Component getComponent(final Locale locale, final String key) {
+        return getComponent(locale, key, (Object[]) null);
+    }
+
+    /**
+     * Gets a value as a component, the parsed component is cached until the lang files are reloaded
+     *
+     * @param player the player to determine the locale for
+     * @param key    the key to get by
+     * @return the component or the key as text if no result was found
+     */
+    public Component getComponent(final Player player, final String key) {
+        return getComponent(player.locale(), key, (Object[]) null);
+    }
 
-        for (var mapValue : config.getReplacerMap().entrySet()) {
-            editString = editString.replace(mapValue.getKey(), mapValue.getValue());
+    /**
+     * Gets a value as a component with dynamic placeholders filled, the values are passed to the deserializer as unparsed text
+     * (or as components if they are {@link net.kyori.adventure.text.ComponentLike}) so they can not inject formatting tags
+     *
+     * @param locale the locale to get the value from
+     * @param key    the key to get by
+     * @param args   alternating placeholder names (without the placeholder char) and their values
+     * @return the component or the key as text if no result was found
+     */
+    public Component getComponent(final Locale locale, final String key, final Object... args) {
+        MessageTemplate template = getTemplate(locale, key);
+        if (template == null) {
+            return Component.text(String.valueOf(key));
+        }
+        return componentCache.get(template, args);
+    }
+
+    /**
+     * Gets a value as a component with dynamic placeholders filled as unparsed text, see {@link #getComponent(Locale, String, Object...)}
+     *
+     * @param player the player to determine the locale for
+     * @param key    the key to get by
+     * @param args   alternating placeholder names (without the placeholder char) and their values
+     * @return the component or the key as text if no result was found
+     */
+    public Component getComponent(final Player player, final String key, final Object... args) {
+        return getComponent(player.locale(), key, args);
+    }
+
+    /**
+     * Groups players by the language config that is used for their locale, so a message only has to be rendered once per language
+     *
+     * @param players the players to group
+     * @param <T>     the player type
+     * @return the players grouped by their language config or an empty map if no languages are registered
+     */
+    public <T extends Player> Map<LangConfig, List<T>> groupByLang(final Collection<T> players) {
+        Map<LangConfig, List<T>> groups = new HashMap<>();
+        if (langMap.isEmpty()) {
+            return groups;
         }
 
-        return editString;
+        Map<Locale, LangConfig> resolved = new HashMap<>();
+        for (T player : players) {
+            LangConfig config = resolved.computeIfAbsent(player.locale(), locale -> getAnyValidLangConfig(locale).orElse(null));
+            if (config == null) {
+                continue;
+            }
+            groups.computeIfAbsent(config, k -> new ArrayList<>()).add(player);
+        }
+        return groups;
+    }
+
+    /**
+     * Gets a value for many players at once, the value is only rendered once per distinct language
+     *
+     * @param players the players to get the value for
+     * @param key     the key to get by
+     * @param args    alternating placeholder names (without the placeholder char) and their values
+     * @param <T>     the player type
+     * @return the rendered values mapped to the players they are meant for
+     */
+    public <T extends Player> Map<String, List<T>> getValues(final Collection<T> players, final String key, final Object... args) {
+        Map<String, List<T>> values = new HashMap<>();
+        if (langMap.isEmpty()) {
+            if (!players.isEmpty()) {
+                values.put(key, new ArrayList<>(players));
+            }
+            return values;
+        }
+
+        for (var group : groupByLang(players).entrySet()) {
+            MessageTemplate template = group.getKey().getTemplate(key, replacerMap);
+            String value = template == null ? key : template.render(args);
+            values.computeIfAbsent(value, k -> new ArrayList<>()).addAll(group.getValue());
+        }
+        return values;
+    }
+
+    /**
+     * Gets a value for many locales at once, the value is only rendered once per distinct language
+     *
+     * @param locales the locales to get the value for
+     * @param key     the key to get by
+     * @param args    alternating placeholder names (without the placeholder char) and their values
+     * @return the rendered value for each locale
+     */
+    public Map<Locale, String> getValuesForLocales(final Collection<Locale> locales, final String key, final Object... args) {
+        Map<Locale, String> values = new HashMap<>();
+        Map<LangConfig, String> rendered = new HashMap<>();
+        for (Locale locale : locales) {
+            if (values.containsKey(locale)) {
+                continue;
+            }
+            LangConfig config = getAnyValidLangConfig(locale).orElse(null);
+            if (config == null) {
+                values.put(locale, key);
+                continue;
+            }
+            values.put(locale, rendered.computeIfAbsent(config, k -> {
+                MessageTemplate template = k.getTemplate(key, replacerMap);
+                return template == null ? key : template.render(args);
+            }));
+        }
+        return values;
+    }
+
+    /**
+     * Sends a message to many players at once, the message is only rendered and parsed once per distinct language
+     *
+     * @param players the players to send the message to
+     * @param key     the key to get by
+     * @param args    alternating placeholder names (without the placeholder char) and their values
+     */
+    public void broadcast(final Collection<? extends Player> players, final String key, final Object... args) {
+        if (langMap.isEmpty()) {
+            Component component = Component.text(String.valueOf(key));
+            players.forEach(player -> player.sendMessage(component));
+            return;
+        }
+
+        for (var group : groupByLang(players).entrySet()) {
+            MessageTemplate template = group.getKey().getTemplate(key, replacerMap);
+            Component component = template == null ? Component.text(String.valueOf(key)) : componentCache.get(template, args);
+            for (Player player : group.getValue()) {
+                player.sendMessage(component);
+            }
+        }
+    }
+
+    /**
+     * Gets the compiled template for a key from the best matching language file
+     *
+     * @param locale the locale to get the template for
+     * @param key    the key to get by
+     * @return the template or null if no lang file or value could be found
+     */
+    private MessageTemplate getTemplate(final Locale locale, final String key) {
+        if (key == null) {
+            return null;
+        }
+
+        var configOptional = getAnyValidLangConfig(locale);
+        if (configOptional.isEmpty()) {
+            LOGGER.log(Level.INFO, "No lang file could be loaded for request: " + key + " using default value!");
+            return null;
+        }
 
+        return configOptional.get().getTemplate(key, replacerMap);
     }
 
     /**
@@ -0,0 +1,128 @@
+package com.wonkglorg.utilitylib.config;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.types.ConfigYML;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A reference counted cache of parsed config files by their canonical path, managers using the same cache share a single
+ * instance of every file they have in common so it is only parsed and stored once. A file is removed from the cache once
+ * every manager that acquired it has released it again.
+ * <br>
+ * The cache is shared by everything loaded from the same copy of this library, plugins that shade and relocate the library
+ * have to use a common cache instance (for example through a common dependency) to share files.
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class SharedConfigCache {
+    private static final SharedConfigCache GLOBAL = new SharedConfigCache();
+    private final Logger LOGGER = ConfigHost.defaultLogger();
+    private final Map<Path, Entry> entries = new HashMap<>();
+
+    /**
+     * @return the cache shared by all managers of this library copy
+     */
+    public static SharedConfigCache global() {
+        return GLOBAL;
+    }
+
+    /**
+     * Acquires the shared instance of a config file, the first acquired config of a file becomes the shared instance
+     *
+     * @param config the config to share
+     * @param <T>    the type of the config
+     * @return the shared instance of the file or the given config if it is the first one of its file, configs of a different type
+     * than the shared instance are returned unshared
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T extends ConfigYML> T acquire(@NotNull T config) {
+        Path key = canonicalPath(config);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            entries.put(key, new Entry(config));
+            return config;
+        }
+        if (entry.config.getClass() != config.getClass()) {
+            LOGGER.log(Level.WARNING, "Config " + key + " is already shared as " + entry.config.getClass().getSimpleName() + ", not sharing " + config.getClass().getSimpleName());
+            return config;
+        }
+        entry.references++;
+        return (T) entry.config;
+    }
+
+    /**
+     * Releases a config acquired by {@link #acquire(ConfigYML)}, configs that are not shared are ignored
+     *
+     * @param config the shared config
+     * @return true if this was the last reference and the config was removed from the cache
+     */
+    public synchronized boolean release(@NotNull ConfigYML config) {
+        Path key = canonicalPath(config);
+        Entry entry = entries.get(key);
+        if (entry == null || entry.config != config) {
+            return false;
+        }
+        if (--entry.references > 0) {
+            return false;
+        }
+        entries.remove(key);
+        return true;
+    }
+
+    /**
+     * @param config a config of the file
+     * @return true if the given instance is the shared instance of its file
+     */
+    public synchronized boolean isShared(@NotNull ConfigYML config) {
+        Entry entry = entries.get(canonicalPath(config));
+        return entry != null && entry.config == config;
+    }
+
+    /**
+     * @param config a config of the file
+     * @return the amount of references to the shared instance of the file or 0 if the file is not shared
+     */
+    public synchronized int getReferenceCount(@NotNull ConfigYML config) {
+        Entry entry = entries.get(canonicalPath(config));
+        return entry == null ? 0 : entry.references;
+    }
+
+    /**
+     * @return the amount of shared files
+     */
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private static Path canonicalPath(ConfigYML config) {
+        File file = new File(config.path());
+        try {
+            return file.getCanonicalFile().toPath();
+        } catch (IOException e) {
+            return file.toPath().toAbsolutePath().normalize();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SharedConfigCache[files=%d]", size());
+    }
+
+    private static final class Entry {
+        private final ConfigYML config;
+        private int references = 1;
+
+        private Entry(ConfigYML config) {
+            this.config = config;
+        }
+    }
+}
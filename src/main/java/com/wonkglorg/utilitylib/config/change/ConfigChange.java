@@ -0,0 +1,28 @@
+package com.wonkglorg.utilitylib.config.change;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A single value that changed between two loads of a config
+ *
+ * @param path     the full path of the changed value
+ * @param oldValue the value before the load or null if the path was added
+ * @param newValue the value after the load or null if the path was removed
+ * @author Wonkglorg
+ */
+public record ConfigChange(String path, @Nullable Object oldValue, @Nullable Object newValue) {
+
+    /**
+     * @return true if the path did not exist before the load
+     */
+    public boolean isAdded() {
+        return oldValue == null;
+    }
+
+    /**
+     * @return true if the path no longer exists after the load
+     */
+    public boolean isRemoved() {
+        return newValue == null;
+    }
+}
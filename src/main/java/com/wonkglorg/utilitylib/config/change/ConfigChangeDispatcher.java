@@ -0,0 +1,173 @@
+package com.wonkglorg.utilitylib.config.change;
+
+import com.wonkglorg.utilitylib.config.types.Config;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * Keeps path scoped {@link ConfigChangeListener}s in a trie of path segments, so finding the listeners of a change
+ * only depends on the depth of its path and not on the amount of registered listeners.
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class ConfigChangeDispatcher {
+    /**
+     * The root of the trie, listeners on the root receive every change
+     */
+    private final Node root = new Node();
+    /**
+     * The executor to notify listeners on, null to notify them on the loading thread
+     */
+    private volatile Executor executor;
+    private volatile int listenerCount = 0;
+
+    /**
+     * Subscribes a listener to all changes at or below a path
+     *
+     * @param path          the path to listen to, blank to listen to every change
+     * @param pathSeparator the path separator of the config
+     * @param listener      the listener
+     */
+    public synchronized void subscribe(@NotNull String path, char pathSeparator, @NotNull ConfigChangeListener listener) {
+        Node node = root;
+        if (!path.isBlank()) {
+            for (String segment : segments(path, pathSeparator)) {
+                node = node.children.computeIfAbsent(segment, k -> new Node());
+            }
+        }
+        node.listeners.add(listener);
+        listenerCount++;
+    }
+
+    /**
+     * Removes a listener from a path it was subscribed to
+     *
+     * @param path          the path the listener was subscribed to
+     * @param pathSeparator the path separator of the config
+     * @param listener      the listener
+     */
+    public synchronized void unsubscribe(@NotNull String path, char pathSeparator, @NotNull ConfigChangeListener listener) {
+        Node node = root;
+        if (!path.isBlank()) {
+            for (String segment : segments(path, pathSeparator)) {
+                node = node.children.get(segment);
+                if (node == null) {
+                    return;
+                }
+            }
+        }
+        if (node.listeners.remove(listener)) {
+            listenerCount--;
+        }
+    }
+
+    private static List<String> segments(String path, char pathSeparator) {
+        List<String> segments = new ArrayList<>();
+        int start = 0;
+        for (int end = path.indexOf(pathSeparator); end >= 0; end = path.indexOf(pathSeparator, start)) {
+            segments.add(path.substring(start, end));
+            start = end + 1;
+        }
+        segments.add(path.substring(start));
+        return segments;
+    }
+
+    /**
+     * @return true if no listener is subscribed
+     */
+    public boolean isEmpty() {
+        return listenerCount == 0;
+    }
+
+    /**
+     * @param executor the executor to notify listeners on or null to notify them on the loading thread
+     */
+    public void setExecutor(@Nullable Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Notifies every listener whose path is a prefix of a changed path, each listener is called once with all of its changes
+     *
+     * @param config        the config that changed
+     * @param pathSeparator the path separator of the config
+     * @param changes       the changes
+     */
+    public void dispatch(@NotNull Config config, char pathSeparator, @NotNull List<ConfigChange> changes) {
+        if (changes.isEmpty() || isEmpty()) {
+            return;
+        }
+
+        Map<ConfigChangeListener, List<ConfigChange>> matches = new IdentityHashMap<>();
+        for (ConfigChange change : changes) {
+            Node node = root;
+            collect(node, change, matches);
+            int start = 0;
+            String path = change.path();
+            while (node != null && start <= path.length()) {
+                int end = path.indexOf(pathSeparator, start);
+                if (end < 0) {
+                    end = path.length();
+                }
+                node = node.children.get(path.substring(start, end));
+                if (node != null) {
+                    collect(node, change, matches);
+                }
+                start = end + 1;
+            }
+        }
+
+        Executor current = executor;
+        for (var entry : matches.entrySet()) {
+            if (current == null) {
+                entry.getKey().onChange(config, entry.getValue());
+            } else {
+                current.execute(() -> entry.getKey().onChange(config, entry.getValue()));
+            }
+        }
+    }
+
+    private static void collect(Node node, ConfigChange change, Map<ConfigChangeListener, List<ConfigChange>> matches) {
+        for (ConfigChangeListener listener : node.listeners) {
+            matches.computeIfAbsent(listener, k -> new ArrayList<>()).add(change);
+        }
+    }
+
+    /**
+     * Computes the changes between the leaf values of two loads
+     *
+     * @param previous the leaf values before the load by their full path
+     * @param current  the leaf values after the load by their full path
+     * @return the changed, added and removed values
+     */
+    public static List<ConfigChange> diff(@NotNull Map<String, Object> previous, @NotNull Map<String, Object> current) {
+        List<ConfigChange> changes = new ArrayList<>();
+        for (var entry : current.entrySet()) {
+            Object oldValue = previous.get(entry.getKey());
+            if (!Objects.equals(oldValue, entry.getValue())) {
+                changes.add(new ConfigChange(entry.getKey(), oldValue, entry.getValue()));
+            }
+        }
+        for (var entry : previous.entrySet()) {
+            if (!current.containsKey(entry.getKey())) {
+                changes.add(new ConfigChange(entry.getKey(), entry.getValue(), null));
+            }
+        }
+        return changes;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new ConcurrentHashMap<>();
+        private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    }
+}
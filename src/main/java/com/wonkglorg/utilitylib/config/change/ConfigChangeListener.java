@@ -0,0 +1,23 @@
+package com.wonkglorg.utilitylib.config.change;
+
+import com.wonkglorg.utilitylib.config.types.Config;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Listener notified when values below a subscribed path change after a config is loaded
+ *
+ * @author Wonkglorg
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * Called once per load with all changes below the subscribed path
+     *
+     * @param config  the config that was loaded
+     * @param changes the changed values
+     */
+    void onChange(@NotNull Config config, @NotNull List<ConfigChange> changes);
+}
@@ -0,0 +1,67 @@
+package com.wonkglorg.utilitylib.config.host;
+
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.InputStream;
+import java.util.logging.Logger;
+
+/**
+ * Everything the config subsystem needs from its environment, usually a plugin ({@link PluginConfigHost}) or a plain directory
+ * for running without a server ({@link FileSystemConfigHost}).
+ *
+ * @author Wonkglorg
+ */
+public interface ConfigHost {
+
+    /**
+     * Creates a host for a plugin
+     *
+     * @param plugin the plugin
+     * @return the created host
+     */
+    static ConfigHost of(@NotNull JavaPlugin plugin) {
+        return new PluginConfigHost(plugin);
+    }
+
+    /**
+     * Gets the logger of the server if one is running, otherwise a standalone logger
+     *
+     * @return the logger to use for classes that are not bound to a host
+     */
+    static Logger defaultLogger() {
+        return Bukkit.getServer() != null ? Bukkit.getLogger() : Logger.getLogger("UtilityLib-Config");
+    }
+
+    /**
+     * @return the folder all config files are stored in
+     */
+    @NotNull
+    File getDataFolder();
+
+    /**
+     * Opens a default resource
+     *
+     * @param name the path of the resource separated by '/'
+     * @return the stream of the resource or null if the resource does not exist
+     */
+    @Nullable
+    InputStream getResource(@NotNull String name);
+
+    /**
+     * @return the logger to report problems to
+     */
+    @NotNull
+    Logger getLogger();
+
+    /**
+     * @return the jar containing the default resources or null if resources are not read from a jar
+     */
+    @Nullable
+    default File getSourceJar() {
+        return null;
+    }
+}
@@ -0,0 +1,99 @@
+package com.wonkglorg.utilitylib.config.host;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A {@link ConfigHost} without a server, files are stored in a plain directory and resources read from another directory.
+ * Used to run the config subsystem headless, for example in tests and benchmarks.
+ *
+ * <p>Example:
+ * <pre>
+ *     {@code ConfigHost host = FileSystemConfigHost.temporary();}
+ *     {@code ConfigYML config = new ConfigYML(host, "config.yml");}
+ * </pre>
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class FileSystemConfigHost implements ConfigHost {
+    private final File dataFolder;
+    private final Path resourceFolder;
+    private final Logger logger;
+
+    /**
+     * Creates a new host
+     *
+     * @param dataFolder     the folder to store config files in
+     * @param resourceFolder the folder to read default resources from or null if there are no default resources
+     * @param logger         the logger to report problems to
+     */
+    public FileSystemConfigHost(@NotNull Path dataFolder, @Nullable Path resourceFolder, @NotNull Logger logger) {
+        this.dataFolder = dataFolder.toFile();
+        this.resourceFolder = resourceFolder;
+        this.logger = logger;
+    }
+
+    /**
+     * Creates a new host without default resources
+     *
+     * @param dataFolder the folder to store config files in
+     */
+    public FileSystemConfigHost(@NotNull Path dataFolder) {
+        this(dataFolder, null, ConfigHost.defaultLogger());
+    }
+
+    /**
+     * Creates a new host storing its files in a new temporary directory
+     *
+     * @return the created host
+     */
+    public static FileSystemConfigHost temporary() {
+        try {
+            return new FileSystemConfigHost(Files.createTempDirectory("utilitylib-config"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public @NotNull File getDataFolder() {
+        return dataFolder;
+    }
+
+    @Override
+    public @Nullable InputStream getResource(@NotNull String name) {
+        if (resourceFolder == null) {
+            return null;
+        }
+        Path resource = resourceFolder.resolve(name);
+        if (!Files.isRegularFile(resource)) {
+            return null;
+        }
+        try {
+            return Files.newInputStream(resource);
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Error reading resource " + resource, e);
+            return null;
+        }
+    }
+
+    @Override
+    public @NotNull Logger getLogger() {
+        return logger;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FileSystemConfigHost[dataFolder=%s,resourceFolder=%s]", dataFolder, resourceFolder);
+    }
+}
@@ -0,0 +1,69 @@
+package com.wonkglorg.utilitylib.config.host;
+
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.util.logging.Logger;
+
+/**
+ * A {@link ConfigHost} backed by a plugin, files are stored in the plugin data folder and resources read from the plugin jar
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class PluginConfigHost implements ConfigHost {
+    private final JavaPlugin plugin;
+
+    public PluginConfigHost(@NotNull JavaPlugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * @return the plugin of this host
+     */
+    public JavaPlugin getPlugin() {
+        return plugin;
+    }
+
+    @Override
+    public @NotNull File getDataFolder() {
+        return plugin.getDataFolder();
+    }
+
+    @Override
+    public @Nullable InputStream getResource(@NotNull String name) {
+        return plugin.getResource(name);
+    }
+
+    @Override
+    public @NotNull Logger getLogger() {
+        return plugin.getLogger();
+    }
+
+    @Override
+    public @Nullable File getSourceJar() {
+        CodeSource codeSource = plugin.getClass().getProtectionDomain().getCodeSource();
+        if (codeSource == null) {
+            return null;
+        }
+        URL location = codeSource.getLocation();
+        try {
+            File file = Path.of(location.toURI()).toFile();
+            return file.isFile() ? file : null;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PluginConfigHost[plugin=%s]", plugin.getName());
+    }
+}
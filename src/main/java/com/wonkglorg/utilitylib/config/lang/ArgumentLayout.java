@@ -0,0 +1,73 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The placeholder names of positional arguments, meant to be stored in a constant so a {@link MessageTemplate} resolves its slots to
+ * argument indexes once instead of searching the arguments by name on every render.
+ *
+ * <p>Example:
+ * <pre>
+ *     {@code static final ArgumentLayout JOIN_ARGS = MessageTemplate.layout("player", "amount");}
+ *     {@code template.render(JOIN_ARGS, player.getName(), 5);}
+ * </pre>
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class ArgumentLayout {
+    private final String[] names;
+    /**
+     * The position of every name, the first position is kept if a name is repeated
+     */
+    private final Map<String, Integer> indexes;
+
+    private ArgumentLayout(String[] names) {
+        this.names = names;
+        this.indexes = new HashMap<>(names.length * 2);
+        for (int i = 0; i < names.length; i++) {
+            indexes.putIfAbsent(names[i], i);
+        }
+    }
+
+    /**
+     * @param names the placeholder names (without the placeholder char) in the order their values are passed
+     * @return a new argument layout
+     */
+    public static ArgumentLayout of(@NotNull String... names) {
+        return new ArgumentLayout(names.clone());
+    }
+
+    /**
+     * @param name the placeholder name (without the placeholder char)
+     * @return the position of the value for the name or -1 if the layout does not contain the name
+     */
+    public int indexOf(@NotNull String name) {
+        Integer index = indexes.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * @return the amount of arguments in this layout
+     */
+    public int size() {
+        return names.length;
+    }
+
+    /**
+     * @param index the position of the argument
+     * @return the placeholder name of the argument
+     */
+    public String getName(int index) {
+        return names[index];
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ArgumentLayout[names=%s]", Arrays.toString(names));
+    }
+}
@@ -0,0 +1,272 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import org.bukkit.configuration.Configuration;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.ref.WeakReference;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A flat read only representation of a lang file, all leaf values are stored by their full path in an open addressing table.
+ * <br>
+ * Paths are weakly interned in a pool shared by all tables (so 30 languages with the same keys only store each key once),
+ * a path is dropped from the pool once no table uses it anymore. Values are stored as they are so lookups never convert them.
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class CompactLangTable {
+    /**
+     * Pool of all paths used by any table, weak so paths of tables that have been replaced can be collected
+     */
+    private static final Map<String, WeakReference<String>> KEY_POOL = new WeakHashMap<>();
+    /**
+     * The paths of the table slots, null if the slot is empty
+     */
+    private final String[] keys;
+    /**
+     * The values of the table slots
+     */
+    private final Object[] values;
+    /**
+     * The paths in the order they were defined in the file
+     */
+    private final String[] order;
+    /**
+     * The values in the order they were defined in the file
+     */
+    private final Object[] orderedValues;
+    private final int mask;
+    /**
+     * The separator between the keys of a path
+     */
+    private final char separator;
+
+    private CompactLangTable(Map<String, Object> entries, char separator) {
+        int capacity = Integer.highestOneBit(Math.max(2, entries.size() * 2 - 1)) << 1;
+        this.keys = new String[capacity];
+        this.values = new Object[capacity];
+        this.order = new String[entries.size()];
+        this.orderedValues = new Object[entries.size()];
+        this.mask = capacity - 1;
+        this.separator = separator;
+
+        int index = 0;
+        for (var entry : entries.entrySet()) {
+            String key = intern(entry.getKey());
+            Object value = entry.getValue();
+            int slot = spread(key.hashCode()) & mask;
+            while (keys[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            values[slot] = value;
+            order[index] = key;
+            orderedValues[index++] = value;
+        }
+    }
+
+    /**
+     * @param path the path to intern
+     * @return the pooled instance of the path
+     */
+    private static String intern(String path) {
+        synchronized (KEY_POOL) {
+            WeakReference<String> reference = KEY_POOL.get(path);
+            String pooled = reference == null ? null : reference.get();
+            if (pooled == null) {
+                KEY_POOL.put(path, new WeakReference<>(path));
+                pooled = path;
+            }
+            return pooled;
+        }
+    }
+
+    /**
+     * Creates a table of all leaf values of a section, sections themselves are not stored
+     *
+     * @param section the section to create the table from
+     * @return the created table
+     */
+    public static CompactLangTable of(@NotNull ConfigurationSection section) {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (var entry : section.getValues(true).entrySet()) {
+            if (!(entry.getValue() instanceof ConfigurationSection)) {
+                entries.put(entry.getKey(), entry.getValue());
+            }
+        }
+        Configuration root = section.getRoot();
+        return new CompactLangTable(entries, root == null ? '.' : root.options().pathSeparator());
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    private int indexOf(String path) {
+        int slot = spread(path.hashCode()) & mask;
+        String key;
+        while ((key = keys[slot]) != null) {
+            if (key == path || key.equals(path)) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the value stored at a path
+     *
+     * @param path the full path of the value
+     * @return the value or null if the path is not a leaf of this table
+     */
+    public @Nullable Object get(@NotNull String path) {
+        int slot = indexOf(path);
+        return slot < 0 ? null : values[slot];
+    }
+
+    /**
+     * Checks if a path is a leaf value of this table
+     *
+     * @param path the full path
+     * @return true if a value is stored at the path
+     */
+    public boolean contains(@NotNull String path) {
+        return indexOf(path) >= 0;
+    }
+
+    /**
+     * Gets the keys of a section, sections only exist implicitly by the paths of their leafs
+     *
+     * @param path the path of the section or blank for the root
+     * @param deep deep search to get children of children
+     * @return the keys relative to the section in the order of the file
+     */
+    public Set<String> getKeys(@Nullable String path, boolean deep) {
+        String prefix = prefix(path);
+        Set<String> result = new LinkedHashSet<>();
+        for (String key : order) {
+            if (!key.startsWith(prefix)) {
+                continue;
+            }
+            String relative = key.substring(prefix.length());
+            int index = relative.indexOf(separator);
+            if (!deep) {
+                result.add(index < 0 ? relative : relative.substring(0, index));
+                continue;
+            }
+            while (index >= 0) {
+                result.add(relative.substring(0, index));
+                index = relative.indexOf(separator, index + 1);
+            }
+            result.add(relative);
+        }
+        return result;
+    }
+
+    private String prefix(@Nullable String path) {
+        return path == null || path.isBlank() ? "" : path + separator;
+    }
+
+    /**
+     * Gets the leaf values of a section, sections themselves are not included
+     *
+     * @param path the path of the section or blank for the root
+     * @param deep deep search to get values of children of children
+     * @return a map of each path relative to the section and its value in the order of the file
+     */
+    public Map<String, Object> getValues(@Nullable String path, boolean deep) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        forEach(path, deep, (relative, value) -> {
+            result.put(relative, value);
+            return true;
+        });
+        return result;
+    }
+
+    /**
+     * Walks the leaf values of a section in the order of the file without collecting them first
+     *
+     * @param path    the path of the section or blank for the root
+     * @param deep    deep search to walk values of children of children
+     * @param visitor receives each path relative to the section and its value, returns false to stop
+     * @return true if every value was visited, false if the visitor stopped early
+     */
+    public boolean forEach(@Nullable String path, boolean deep, @NotNull BiPredicate<String, Object> visitor) {
+        return forEach(path, deep, visitor, section -> true);
+    }
+
+    /**
+     * Walks the leaf values of a section in the order of the file without collecting them first, every section is reported
+     * once before its first value
+     *
+     * @param path           the path of the section or blank for the root
+     * @param deep           deep search to walk values of children of children
+     * @param visitor        receives each path relative to the section and its value, returns false to stop
+     * @param sectionVisitor receives each path of a section relative to the section, returns false to stop
+     * @return true if every value was visited, false if a visitor stopped early
+     */
+    public boolean forEach(@Nullable String path, boolean deep, @NotNull BiPredicate<String, Object> visitor, @NotNull Predicate<String> sectionVisitor) {
+        String prefix = prefix(path);
+        Set<String> sections = new HashSet<>();
+        for (int i = 0; i < order.length; i++) {
+            String key = order[i];
+            if (!key.startsWith(prefix)) {
+                continue;
+            }
+            String relative = key.substring(prefix.length());
+            int index = relative.indexOf(separator);
+            boolean nested = index >= 0;
+            while (index >= 0) {
+                String section = relative.substring(0, index);
+                if (sections.add(section) && !sectionVisitor.test(section)) {
+                    return false;
+                }
+                index = deep ? relative.indexOf(separator, index + 1) : -1;
+            }
+            if ((deep || !nested) && !visitor.test(relative, orderedValues[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Streams the leaf values of a section in the order of the file without collecting them first
+     *
+     * @param path the path of the section or blank for the root
+     * @param deep deep search to include values of children of children
+     * @return a stream of each path relative to the section and its value
+     */
+    public Stream<Map.Entry<String, Object>> stream(@Nullable String path, boolean deep) {
+        String prefix = prefix(path);
+        return IntStream.range(0, order.length)
+                .filter(i -> order[i].startsWith(prefix))
+                .filter(i -> deep || order[i].indexOf(separator, prefix.length()) < 0)
+                .mapToObj(i -> Map.entry(order[i].substring(prefix.length()), orderedValues[i]));
+    }
+
+    /**
+     * @return the amount of values stored
+     */
+    public int size() {
+        return order.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CompactLangTable[size=%d,capacity=%d]", order.length, keys.length);
+    }
+}
@@ -0,0 +1,268 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.ComponentLike;
+import net.kyori.adventure.text.TextReplacementConfig;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.regex.MatchResult;
+import java.util.regex.Pattern;
+
+/**
+ * Caches deserialized {@link Component}s of {@link MessageTemplate}s so a message is only parsed once instead of on every send.
+ * <br>
+ * Only the static parse of a template is cached, dynamic values are never parsed as part of the message. With {@link MiniMessage}
+ * every slot is parsed once as a marker and with any other deserializer the slots stay placeholders in the parsed component,
+ * filling a template replaces all markers or placeholders in a single pass with the plain text or component values.
+ * Values are never scanned again, so values like player names can neither inject tags nor placeholders of other slots.
+ * Entries are bound to the template instance and get dropped once the template is invalidated by a lang reload.
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class ComponentCache {
+    /**
+     * The prefix of the tags the slots of a template are replaced by in the MiniMessage source
+     */
+    private static final String SLOT_TAG = "lang_slot_";
+    /**
+     * The marker a slot tag gets parsed to, private use characters around the slot index so they never appear in lang files
+     */
+    private static final char MARKER_START = '\uE000';
+    private static final char MARKER_END = '\uE001';
+    private static final Pattern MARKER_PATTERN = Pattern.compile(MARKER_START + "(\\d+)" + MARKER_END);
+    /**
+     * Cached components per template, weak keys so templates replaced by a reload can be collected
+     */
+    private final Map<MessageTemplate, CachedComponents> cache = Collections.synchronizedMap(new WeakHashMap<>());
+    /**
+     * The function used to turn a message into a component
+     */
+    private volatile Function<String, Component> deserializer;
+    /**
+     * The MiniMessage instance dynamic values are resolved with, null if a different deserializer is used
+     */
+    private volatile MiniMessage miniMessage;
+
+    /**
+     * Creates a new component cache using {@link MiniMessage} to deserialize messages
+     */
+    public ComponentCache() {
+        this(MiniMessage.miniMessage());
+    }
+
+    /**
+     * Creates a new component cache using {@link MiniMessage} to deserialize messages
+     *
+     * @param miniMessage the MiniMessage instance to deserialize messages with
+     */
+    public ComponentCache(@NotNull MiniMessage miniMessage) {
+        this.miniMessage = miniMessage;
+        this.deserializer = miniMessage::deserialize;
+    }
+
+    /**
+     * Creates a new component cache
+     *
+     * @param deserializer the function used to turn a message into a component
+     */
+    public ComponentCache(@NotNull Function<String, Component> deserializer) {
+        this.deserializer = deserializer;
+    }
+
+    /**
+     * Gets the component of a template, the static parse is cached and dynamic values are filled without being parsed
+     *
+     * @param template the template to get the component for
+     * @param args     alternating placeholder names (without the placeholder char) and their values, values can be text or {@link ComponentLike}
+     * @return the deserialized component
+     */
+    public Component get(@NotNull MessageTemplate template, Object... args) {
+        CachedComponents cached = cache.computeIfAbsent(template, k -> new CachedComponents());
+        if (!template.hasSlots() || args == null || args.length < 2) {
+            return getStaticComponent(template, cached);
+        }
+
+        Component[] values = new Component[template.getSlotCount()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = toComponent(template, i, template.getArgument(i, args));
+        }
+        return fill(template, cached, values);
+    }
+
+    /**
+     * Gets the component of a template with positional values, see {@link #get(MessageTemplate, Object...)} and {@link ArgumentLayout}
+     *
+     * @param template the template to get the component for
+     * @param layout   the placeholder names of the values
+     * @param values   the values in the order of the layout, values can be text or {@link ComponentLike}
+     * @return the deserialized component
+     */
+    public Component get(@NotNull MessageTemplate template, @NotNull ArgumentLayout layout, Object... values) {
+        CachedComponents cached = cache.computeIfAbsent(template, k -> new CachedComponents());
+        if (!template.hasSlots() || values == null || values.length == 0) {
+            return getStaticComponent(template, cached);
+        }
+
+        Component[] slotValues = new Component[template.getSlotCount()];
+        for (int i = 0; i < slotValues.length; i++) {
+            slotValues[i] = toComponent(template, i, template.getArgument(i, layout, values));
+        }
+        return fill(template, cached, slotValues);
+    }
+
+    /**
+     * Fills the slot values into the parsed template
+     *
+     * @param template the template
+     * @param cached   the cached components of the template
+     * @param values   the component of every slot
+     * @return the filled component
+     */
+    private Component fill(MessageTemplate template, CachedComponents cached, Component[] values) {
+        SlotComponent slotComponent = getSlotComponent(template, cached);
+        return slotComponent.component().replaceText(TextReplacementConfig.builder()
+                .match(slotComponent.pattern())
+                .replacement((match, builder) -> values[slotComponent.slotIndex(match)])
+                .build());
+    }
+
+    private Component getStaticComponent(MessageTemplate template, CachedComponents cached) {
+        Component component = cached.staticComponent;
+        if (component == null) {
+            component = deserializer.apply(template.getStaticValue());
+            cached.staticComponent = component;
+        }
+        return component;
+    }
+
+    /**
+     * Gets the parsed template the slot values get filled into, the template is only parsed once
+     *
+     * @param template the template
+     * @param cached   the cached components of the template
+     * @return the parsed template
+     */
+    private SlotComponent getSlotComponent(MessageTemplate template, CachedComponents cached) {
+        SlotComponent slotComponent = cached.slotComponent;
+        if (slotComponent == null) {
+            MiniMessage current = miniMessage;
+            slotComponent = current != null ? parseMarkers(current, template) : parsePlaceholders(template, getStaticComponent(template, cached));
+            cached.slotComponent = slotComponent;
+        }
+        return slotComponent;
+    }
+
+    /**
+     * Parses a template with every slot replaced by a tag inserting the marker of the slot
+     *
+     * @param miniMessage the MiniMessage instance to parse with
+     * @param template    the template
+     * @return the parsed component with a marker per slot
+     */
+    private static SlotComponent parseMarkers(MiniMessage miniMessage, MessageTemplate template) {
+        StringBuilder source = new StringBuilder(template.getLiteral(0));
+        TagResolver.Builder resolver = TagResolver.builder();
+        for (int i = 0; i < template.getSlotCount(); i++) {
+            source.append('<').append(SLOT_TAG).append(i).append('>').append(template.getLiteral(i + 1));
+            resolver.tag(SLOT_TAG + i, Tag.selfClosingInserting(Component.text(MARKER_START + Integer.toString(i) + MARKER_END)));
+        }
+        return new SlotComponent(miniMessage.deserialize(source.toString(), resolver.build()), MARKER_PATTERN, null);
+    }
+
+    /**
+     * Creates the pattern matching the placeholders of all slots in the static parse of a template
+     *
+     * @param template  the template
+     * @param component the static parse of the template, still containing the placeholders of all slots
+     * @return the parsed component with the placeholders of all slots
+     */
+    private static SlotComponent parsePlaceholders(MessageTemplate template, Component component) {
+        Map<String, Integer> slots = new HashMap<>();
+        StringJoiner pattern = new StringJoiner("|");
+        for (int i = 0; i < template.getSlotCount(); i++) {
+            String placeholder = placeholder(template, i);
+            if (slots.putIfAbsent(placeholder, i) == null) {
+                pattern.add(Pattern.quote(placeholder));
+            }
+        }
+        return new SlotComponent(component, Pattern.compile(pattern.toString()), slots);
+    }
+
+    private static String placeholder(MessageTemplate template, int index) {
+        return template.getPlaceholderChar() + template.getSlotName(index) + template.getPlaceholderChar();
+    }
+
+    private static Component toComponent(MessageTemplate template, int index, @Nullable Object value) {
+        return value == null ? Component.text(placeholder(template, index)) : toComponent(value);
+    }
+
+    private static Component toComponent(@Nullable Object value) {
+        return value instanceof ComponentLike component ? component.asComponent() : Component.text(String.valueOf(value));
+    }
+
+    /**
+     * Sets the function used to turn a message into a component, clears all cached components.
+     * Dynamic values are inserted into the deserialized component as plain text.
+     *
+     * @param deserializer the deserializer, example: {@code LegacyComponentSerializer.legacyAmpersand()::deserialize}
+     */
+    public void setDeserializer(@NotNull Function<String, Component> deserializer) {
+        this.miniMessage = null;
+        this.deserializer = deserializer;
+        clear();
+    }
+
+    /**
+     * Sets the MiniMessage instance used to deserialize messages, clears all cached components
+     *
+     * @param miniMessage the MiniMessage instance
+     */
+    public void setMiniMessage(@NotNull MiniMessage miniMessage) {
+        this.miniMessage = miniMessage;
+        this.deserializer = miniMessage::deserialize;
+        clear();
+    }
+
+    /**
+     * Clears all cached components
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * The components cached for a single template
+     */
+    private static final class CachedComponents {
+        private volatile Component staticComponent;
+        /**
+         * The parsed template the slot values get filled into
+         */
+        private volatile SlotComponent slotComponent;
+    }
+
+    /**
+     * A template parsed once with a marker or placeholder in place of every slot
+     *
+     * @param component the parsed template
+     * @param pattern   the pattern matching the marker or placeholder of every slot
+     * @param slots     the slot index by placeholder, null if the pattern matches markers holding the slot index
+     */
+    private record SlotComponent(Component component, Pattern pattern, @Nullable Map<String, Integer> slots) {
+
+        private int slotIndex(MatchResult match) {
+            return slots == null ? Integer.parseInt(match.group(1)) : slots.get(match.group());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The differences of a lang file compared to the default lang file
+ *
+ * @param name                  the name of the compared lang file
+ * @param missingKeys           keys defined in the default lang file but not in this one
+ * @param extraKeys             keys defined in this lang file but not in the default one
+ * @param placeholderMismatches keys defined in both files whose placeholders differ, mapped to the placeholders only present in one of them
+ * @author Wonkglorg
+ */
+public record LangDiff(String name, Set<String> missingKeys, Set<String> extraKeys, Map<String, Set<String>> placeholderMismatches) {
+
+    /**
+     * @return true if the lang file has no differences to the default lang file
+     */
+    public boolean isEmpty() {
+        return missingKeys.isEmpty() && extraKeys.isEmpty() && placeholderMismatches.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LangDiff[name=%s,missing=%d,extra=%d,placeholderMismatches=%d]", name, missingKeys.size(), extraKeys.size(), placeholderMismatches.size());
+    }
+}
@@ -0,0 +1,144 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import com.wonkglorg.utilitylib.config.types.LangConfig;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares the keys and placeholders of lang files against the default lang file.
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class LangValidator {
+
+    private LangValidator() {
+        //utility class
+    }
+
+    /**
+     * Compares every lang file against the default lang file, the lang files are compared in parallel
+     *
+     * @param defaultLang    the default lang file
+     * @param langs          the lang files to compare (duplicates and the default lang file itself are skipped)
+     * @param fillFallbacks  true to set the values of all missing keys as fallback values of the lang file so they are resolved without a second lookup
+     * @return the differences of each lang file
+     */
+    public static Map<LangConfig, LangDiff> validate(@NotNull LangConfig defaultLang, @NotNull Collection<LangConfig> langs, boolean fillFallbacks) {
+        return validate(defaultLang, langs, fillFallbacks, null);
+    }
+
+    /**
+     * Compares every lang file against the default lang file, the lang files are compared in parallel
+     *
+     * @param defaultLang        the default lang file
+     * @param langs              the lang files to compare (duplicates and the default lang file itself are skipped)
+     * @param fillFallbacks      true to set the values of all missing keys as fallback values of the lang file so they are resolved without a second lookup
+     * @param globalReplacements the global replacements of the manager the fallback values are set for or null to set them for the whole file
+     * @return the differences of each lang file
+     */
+    public static Map<LangConfig, LangDiff> validate(@NotNull LangConfig defaultLang, @NotNull Collection<LangConfig> langs, boolean fillFallbacks,
+                                                     @Nullable Map<String, String> globalReplacements) {
+        Map<String, Object> defaultValues = getLeafValues(defaultLang);
+        char placeholderChar = defaultLang.getPlaceholderChar();
+        Map<String, Set<String>> defaultPlaceholders = new HashMap<>();
+        for (var entry : defaultValues.entrySet()) {
+            if (entry.getValue() instanceof String string) {
+                defaultPlaceholders.put(entry.getKey(), getPlaceholders(string, placeholderChar));
+            }
+        }
+
+        Set<LangConfig> distinct = Collections.newSetFromMap(new IdentityHashMap<>());
+        distinct.addAll(langs);
+        distinct.remove(defaultLang);
+
+        Map<LangConfig, LangDiff> result = new ConcurrentHashMap<>();
+        distinct.parallelStream().forEach(lang -> result.put(lang, compare(lang, defaultValues, defaultPlaceholders, fillFallbacks, globalReplacements)));
+        return result;
+    }
+
+    private static LangDiff compare(LangConfig lang, Map<String, Object> defaultValues, Map<String, Set<String>> defaultPlaceholders, boolean fillFallbacks,
+                                    Map<String, String> globalReplacements) {
+        Map<String, Object> values = getLeafValues(lang);
+        Set<String> missingKeys = new LinkedHashSet<>();
+        Set<String> extraKeys = new LinkedHashSet<>();
+        Map<String, Set<String>> placeholderMismatches = new LinkedHashMap<>();
+        Map<String, String> fallbacks = new HashMap<>();
+
+        for (var entry : defaultValues.entrySet()) {
+            String key = entry.getKey();
+            Object value = values.get(key);
+            if (value == null) {
+                missingKeys.add(key);
+                if (entry.getValue() instanceof String string) {
+                    fallbacks.put(key, string);
+                }
+                continue;
+            }
+
+            Set<String> expected = defaultPlaceholders.get(key);
+            if (expected == null || !(value instanceof String string)) {
+                continue;
+            }
+            Set<String> actual = getPlaceholders(string, lang.getPlaceholderChar());
+            if (!expected.equals(actual)) {
+                Set<String> difference = new LinkedHashSet<>(expected);
+                difference.addAll(actual);
+                Set<String> shared = new LinkedHashSet<>(expected);
+                shared.retainAll(actual);
+                difference.removeAll(shared);
+                placeholderMismatches.put(key, difference);
+            }
+        }
+
+        for (String key : values.keySet()) {
+            if (!defaultValues.containsKey(key)) {
+                extraKeys.add(key);
+            }
+        }
+
+        if (fillFallbacks && globalReplacements != null) {
+            lang.setFallbackValues(globalReplacements, fallbacks);
+        } else if (fillFallbacks) {
+            lang.setFallbackValues(fallbacks);
+        }
+
+        return new LangDiff(lang.name(), missingKeys, extraKeys, placeholderMismatches);
+    }
+
+    /**
+     * Gets all leaf values of a lang file by their full path
+     */
+    private static Map<String, Object> getLeafValues(LangConfig lang) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (var entry : lang.getValues(true).entrySet()) {
+            if (!(entry.getValue() instanceof ConfigurationSection)) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Gets all placeholder names used in a message
+     */
+    private static Set<String> getPlaceholders(String message, char placeholderChar) {
+        MessageTemplate template = MessageTemplate.compile(message, placeholderChar);
+        Set<String> placeholders = new LinkedHashSet<>();
+        for (int i = 0; i < template.getSlotCount(); i++) {
+            placeholders.add(template.getSlotName(i));
+        }
+        return placeholders;
+    }
+}
@@ -0,0 +1,188 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import com.wonkglorg.utilitylib.config.types.LangConfig;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of all messages of a set of languages, every key gets an integer id and every language a row index
+ * so a lookup is a plain array access by (localeIndex, keyId) instead of a lookup in the section tree.
+ * <br>
+ * Ids are only valid for the bundle they were resolved with, use {@link MessageKey} to keep a key that resolves its id once per bundle.
+ *
+ * <p>Example:
+ * <pre>
+ *     {@code MessageBundle bundle = langManager.getBundle();}
+ *     {@code int join = bundle.keyId("messages.join");}
+ *     {@code String message = bundle.get(bundle.localeIndex(player.locale()), join).render("player", player.getName());}
+ * </pre>
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class MessageBundle {
+    /**
+     * The id of each key
+     */
+    private final Map<String, Integer> keyIds;
+    /**
+     * The key of each id
+     */
+    private final String[] keys;
+    /**
+     * The row index of each registered locale
+     */
+    private final Map<Locale, Integer> localeIndexes;
+    /**
+     * The compiled templates by [localeIndex][keyId], null if the key does not exist in that language
+     */
+    private final MessageTemplate[][] templates;
+    /**
+     * The row used for locales without a language of their own
+     */
+    private final int defaultIndex;
+
+    private MessageBundle(Map<String, Integer> keyIds, String[] keys, Map<Locale, Integer> localeIndexes, MessageTemplate[][] templates, int defaultIndex) {
+        this.keyIds = keyIds;
+        this.keys = keys;
+        this.localeIndexes = localeIndexes;
+        this.templates = templates;
+        this.defaultIndex = defaultIndex;
+    }
+
+    /**
+     * Builds a bundle from the registered languages, locales using the same lang file share a single row.
+     * Keys are numbered in the order of the default language followed by the keys only present in other languages.
+     *
+     * @param langMap            the lang files by the locales they are used for
+     * @param defaultLang        the locale used for locales without a language of their own
+     * @param globalReplacements the replacements to apply before the placeholders of each lang file
+     * @return the built bundle
+     */
+    public static MessageBundle build(@NotNull Map<Locale, LangConfig> langMap, @Nullable Locale defaultLang, @NotNull Map<String, String> globalReplacements) {
+        Map<LangConfig, Integer> rows = new IdentityHashMap<>();
+        List<LangConfig> configs = new ArrayList<>();
+        LangConfig defaultConfig = defaultLang == null ? null : langMap.get(defaultLang);
+        if (defaultConfig != null) {
+            rows.put(defaultConfig, 0);
+            configs.add(defaultConfig);
+        }
+        Map<Locale, Integer> localeIndexes = new HashMap<>();
+        for (var entry : langMap.entrySet()) {
+            Integer row = rows.get(entry.getValue());
+            if (row == null) {
+                row = configs.size();
+                rows.put(entry.getValue(), row);
+                configs.add(entry.getValue());
+            }
+            localeIndexes.put(entry.getKey(), row);
+        }
+
+        Set<String> keySet = new LinkedHashSet<>();
+        for (LangConfig config : configs) {
+            keySet.addAll(config.getLeafValues().keySet());
+            keySet.addAll(config.getFallbackValues(globalReplacements).keySet());
+        }
+        String[] keys = keySet.toArray(new String[0]);
+        Map<String, Integer> keyIds = new HashMap<>(keys.length * 4 / 3 + 1);
+        for (int i = 0; i < keys.length; i++) {
+            keyIds.put(keys[i], i);
+        }
+
+        MessageTemplate[][] templates = new MessageTemplate[configs.size()][keys.length];
+        for (int row = 0; row < configs.size(); row++) {
+            LangConfig config = configs.get(row);
+            for (int id = 0; id < keys.length; id++) {
+                templates[row][id] = config.getTemplate(keys[id], globalReplacements);
+            }
+        }
+        return new MessageBundle(keyIds, keys, localeIndexes, templates, configs.isEmpty() ? -1 : 0);
+    }
+
+    /**
+     * @param key the key to get the id of
+     * @return the id of the key or -1 if no language contains the key
+     */
+    public int keyId(@NotNull String key) {
+        Integer id = keyIds.get(key);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param keyId the id of a key
+     * @return the key with the id
+     */
+    public String getKey(int keyId) {
+        return keys[keyId];
+    }
+
+    /**
+     * Gets the row of a locale, locales without a language of their own use the row of the default language
+     * (or any language if there is no default language)
+     *
+     * @param locale the locale to get the row of, null for the default language
+     * @return the row index or -1 if the bundle contains no languages
+     */
+    public int localeIndex(@Nullable Locale locale) {
+        if (locale == null) {
+            return defaultIndex;
+        }
+        Integer index = localeIndexes.get(locale);
+        return index == null ? defaultIndex : index;
+    }
+
+    /**
+     * Gets the template of a key in a language
+     *
+     * @param localeIndex the row of the language, see {@link #localeIndex(Locale)}
+     * @param keyId       the id of the key, see {@link #keyId(String)}
+     * @return the template or null if the language does not contain the key or either index is invalid
+     */
+    public @Nullable MessageTemplate get(int localeIndex, int keyId) {
+        if (localeIndex < 0 || keyId < 0 || localeIndex >= templates.length || keyId >= keys.length) {
+            return null;
+        }
+        return templates[localeIndex][keyId];
+    }
+
+    /**
+     * Gets a value with dynamic placeholders filled
+     *
+     * @param localeIndex the row of the language, see {@link #localeIndex(Locale)}
+     * @param keyId       the id of the key, see {@link #keyId(String)}
+     * @param args        alternating placeholder names (without the placeholder char) and their values
+     * @return the rendered value or null if the language does not contain the key
+     */
+    public @Nullable String getValue(int localeIndex, int keyId, Object... args) {
+        MessageTemplate template = get(localeIndex, keyId);
+        return template == null ? null : template.render(args);
+    }
+
+    /**
+     * @return the amount of keys in the bundle
+     */
+    public int getKeyCount() {
+        return keys.length;
+    }
+
+    /**
+     * @return the amount of distinct languages in the bundle
+     */
+    public int getLocaleCount() {
+        return templates.length;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MessageBundle[languages=%d,keys=%d]", templates.length, keys.length);
+    }
+}
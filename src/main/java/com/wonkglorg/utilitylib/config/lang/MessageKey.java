@@ -0,0 +1,67 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A lang key that resolves its id in a {@link MessageBundle} once and reuses it until the bundle is rebuilt,
+ * meant to be stored in a constant so lookups skip the key to id mapping.
+ *
+ * <p>Example:
+ * <pre>
+ *     {@code static final MessageKey JOIN = MessageKey.of("messages.join");}
+ *     {@code langManager.format(player.locale(), JOIN, "player", player.getName());}
+ * </pre>
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class MessageKey {
+    private final String key;
+    /**
+     * The bundle the id was last resolved in and the id in that bundle
+     */
+    private volatile Resolved resolved;
+
+    private MessageKey(String key) {
+        this.key = key;
+    }
+
+    /**
+     * @param key the lang key
+     * @return a new message key
+     */
+    public static MessageKey of(@NotNull String key) {
+        return new MessageKey(key);
+    }
+
+    /**
+     * Gets the id of this key in a bundle, the id is only looked up again once a different bundle is used
+     *
+     * @param bundle the bundle to get the id in
+     * @return the id or -1 if the bundle does not contain the key
+     */
+    public int id(@NotNull MessageBundle bundle) {
+        Resolved current = resolved;
+        if (current != null && current.bundle == bundle) {
+            return current.id;
+        }
+        int id = bundle.keyId(key);
+        resolved = new Resolved(bundle, id);
+        return id;
+    }
+
+    /**
+     * @return the lang key
+     */
+    public String key() {
+        return key;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MessageKey[key=%s]", key);
+    }
+
+    private record Resolved(MessageBundle bundle, int id) {
+    }
+}
@@ -0,0 +1,316 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A precompiled lang message, static replacements are already applied and every remaining placeholder is stored as an indexed slot
+ * so dynamic values can be filled in a single pass without rescanning the message.
+ *
+ * <p>Example for the placeholder char '%':
+ * <pre>
+ *     "Welcome %player%, you have %amount% coins"
+ *     literals = ["Welcome ", ", you have ", " coins"]
+ *     slots    = ["player", "amount"]
+ * </pre>
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class MessageTemplate {
+    /**
+     * Builders above this size are not kept for reuse to avoid holding on to large buffers
+     */
+    private static final int MAX_REUSED_CAPACITY = 8192;
+    /**
+     * Reusable render buffer per thread
+     */
+    private static final ThreadLocal<StringBuilder> BUFFER = ThreadLocal.withInitial(() -> new StringBuilder(256));
+    /**
+     * The literal text between slots, always 1 larger than {@link #slots}
+     */
+    private final String[] literals;
+    /**
+     * The placeholder names (without the placeholder char) of each slot
+     */
+    private final String[] slots;
+    /**
+     * The placeholder char the slots were compiled with
+     */
+    private final char placeholderChar;
+    /**
+     * The message with only static replacements applied, returned as is if no slot gets filled
+     */
+    private final String staticValue;
+    /**
+     * The layout the slots were last resolved against and the argument index of every slot in that layout
+     */
+    private volatile Binding binding;
+
+    private MessageTemplate(String staticValue, String[] literals, String[] slots, char placeholderChar) {
+        this.staticValue = staticValue;
+        this.literals = literals;
+        this.slots = slots;
+        this.placeholderChar = placeholderChar;
+    }
+
+    /**
+     * Compiles a message into its literal parts and placeholder slots, a placeholder is any text enclosed by the placeholder char without whitespaces
+     *
+     * @param message         the message with all static replacements already applied
+     * @param placeholderChar the character used to denote placeholders
+     * @return the compiled template
+     */
+    public static MessageTemplate compile(@NotNull String message, char placeholderChar) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int literalStart = 0;
+        int index = message.indexOf(placeholderChar);
+        while (index >= 0) {
+            int end = message.indexOf(placeholderChar, index + 1);
+            if (end < 0) {
+                break;
+            }
+            if (isPlaceholderName(message, index + 1, end)) {
+                literals.add(message.substring(literalStart, index));
+                slots.add(message.substring(index + 1, end));
+                literalStart = end + 1;
+                index = message.indexOf(placeholderChar, literalStart);
+            } else {
+                //the closing char could be the start of the next placeholder
+                index = end;
+            }
+        }
+        literals.add(message.substring(literalStart));
+        return new MessageTemplate(message, literals.toArray(new String[0]), slots.toArray(new String[0]), placeholderChar);
+    }
+
+    private static boolean isPlaceholderName(String message, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (Character.isWhitespace(message.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the layout of positional arguments for {@link #render(ArgumentLayout, Object...)}, see {@link ArgumentLayout}
+     *
+     * @param names the placeholder names (without the placeholder char) in the order their values are passed
+     * @return the layout
+     */
+    public static ArgumentLayout layout(@NotNull String... names) {
+        return ArgumentLayout.of(names);
+    }
+
+    /**
+     * Renders the template with the given placeholder arguments, placeholders without a matching argument are kept as is
+     *
+     * @param args alternating placeholder names (without the placeholder char) and their values, example: {@code "player", name, "amount", 5}
+     * @return the rendered message
+     */
+    public String render(Object... args) {
+        if (slots.length == 0 || args == null || args.length < 2) {
+            return staticValue;
+        }
+
+        StringBuilder builder = BUFFER.get();
+        builder.setLength(0);
+        builder.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            int argIndex = findArgument(i, args);
+            if (argIndex < 0) {
+                builder.append(placeholderChar).append(slots[i]).append(placeholderChar);
+            } else {
+                appendValue(builder, args[argIndex]);
+            }
+            builder.append(literals[i + 1]);
+        }
+        return finish(builder);
+    }
+
+    /**
+     * Renders the template with positional values, the slots are resolved to argument indexes once per layout so no value is searched by name.
+     * Placeholders without a matching value are kept as is
+     *
+     * <p>Example:
+     * <pre>
+     *     {@code static final ArgumentLayout JOIN_ARGS = MessageTemplate.layout("player", "amount");}
+     *     {@code template.render(JOIN_ARGS, player.getName(), 5);}
+     * </pre>
+     *
+     * @param layout the placeholder names of the values
+     * @param values the values in the order of the layout
+     * @return the rendered message
+     */
+    public String render(@NotNull ArgumentLayout layout, Object... values) {
+        if (slots.length == 0 || values == null || values.length == 0) {
+            return staticValue;
+        }
+
+        int[] indexes = resolve(layout);
+        StringBuilder builder = BUFFER.get();
+        builder.setLength(0);
+        builder.append(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            int argIndex = indexes[i];
+            if (argIndex < 0 || argIndex >= values.length) {
+                builder.append(placeholderChar).append(slots[i]).append(placeholderChar);
+            } else {
+                appendValue(builder, values[argIndex]);
+            }
+            builder.append(literals[i + 1]);
+        }
+        return finish(builder);
+    }
+
+    private static String finish(StringBuilder builder) {
+        String result = builder.toString();
+        if (builder.capacity() > MAX_REUSED_CAPACITY) {
+            BUFFER.remove();
+        }
+        return result;
+    }
+
+    /**
+     * Gets the argument index of every slot in a layout, the indexes are only resolved again once a different layout is used
+     *
+     * @param layout the layout to resolve the slots in
+     * @return the argument index per slot, -1 for slots the layout does not contain
+     */
+    private int[] resolve(ArgumentLayout layout) {
+        Binding current = binding;
+        if (current != null && current.layout == layout) {
+            return current.indexes;
+        }
+        int[] indexes = new int[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            indexes[i] = layout.indexOf(slots[i]);
+        }
+        binding = new Binding(layout, indexes);
+        return indexes;
+    }
+
+    /**
+     * Finds the index of the value for a slot inside the argument pairs, arguments passed in slot order are found without a search
+     *
+     * @param slot the index of the slot
+     * @param args the argument pairs
+     * @return the index of the value or -1 if the slot has no argument
+     */
+    private int findArgument(int slot, Object[] args) {
+        String name = slots[slot];
+        int expected = slot * 2;
+        if (expected + 1 < args.length && name.equals(args[expected])) {
+            return expected + 1;
+        }
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            if (name.equals(args[i])) {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static void appendValue(StringBuilder builder, Object value) {
+        if (value instanceof CharSequence sequence) {
+            builder.append(sequence);
+        } else if (value instanceof Integer integer) {
+            builder.append(integer.intValue());
+        } else if (value instanceof Long longValue) {
+            builder.append(longValue.longValue());
+        } else {
+            builder.append(value);
+        }
+    }
+
+    /**
+     * @return the message with only static replacements applied
+     */
+    public String getStaticValue() {
+        return staticValue;
+    }
+
+    /**
+     * @return true if the template contains placeholders that can be filled per call
+     */
+    public boolean hasSlots() {
+        return slots.length > 0;
+    }
+
+    /**
+     * @return the amount of placeholder slots in this template
+     */
+    public int getSlotCount() {
+        return slots.length;
+    }
+
+    /**
+     * @param index the index of the slot
+     * @return the placeholder name of the slot (without the placeholder char)
+     */
+    public String getSlotName(int index) {
+        return slots[index];
+    }
+
+    /**
+     * @param index the index of the literal, from 0 to {@link #getSlotCount()} (the literal at index i is followed by the slot at index i)
+     * @return the literal text
+     */
+    public String getLiteral(int index) {
+        return literals[index];
+    }
+
+    /**
+     * Gets the argument passed for a slot
+     *
+     * @param index the index of the slot
+     * @param args  alternating placeholder names (without the placeholder char) and their values
+     * @return the value or null if no value was passed for the slot
+     */
+    public @Nullable Object getArgument(int index, Object... args) {
+        if (args == null) {
+            return null;
+        }
+        int argIndex = findArgument(index, args);
+        return argIndex < 0 ? null : args[argIndex];
+    }
+
+    /**
+     * Gets the positional value passed for a slot
+     *
+     * @param index  the index of the slot
+     * @param layout the placeholder names of the values
+     * @param values the values in the order of the layout
+     * @return the value or null if no value was passed for the slot
+     */
+    public @Nullable Object getArgument(int index, @NotNull ArgumentLayout layout, Object... values) {
+        if (values == null) {
+            return null;
+        }
+        int argIndex = resolve(layout)[index];
+        return argIndex < 0 || argIndex >= values.length ? null : values[argIndex];
+    }
+
+    /**
+     * @return the character the placeholders of this template are denoted by
+     */
+    public char getPlaceholderChar() {
+        return placeholderChar;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("MessageTemplate[value=%s,slots=%d]", staticValue, slots.length);
+    }
+
+    private record Binding(ArgumentLayout layout, int[] indexes) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.wonkglorg.utilitylib.config.schema;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Declares the types, ranges, required values and defaults of a config. A config is validated against its schema once per load
+ * and all problems are reported together, the validated values are kept in their typed form for fast reads.
+ *
+ * <p>Example:
+ * <pre>
+ *     {@code ConfigSchema schema = ConfigSchema.builder()}
+ *     {@code         .add(SchemaField.ofInt("homes.max").range(1, 100).defaultValue(5))}
+ *     {@code         .add(SchemaField.ofString("database.url").required())}
+ *     {@code         .build();}
+ *     {@code config.setSchema(schema);}
+ * </pre>
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class ConfigSchema {
+    private final Map<String, SchemaField> fields;
+    /**
+     * The fields by their own path and the paths of all their parent sections, a write to any of these paths can change the fields value.
+     * Indexed once per path separator since the same schema can be used by configs with different separators.
+     */
+    private final Map<Character, Map<String, List<SchemaField>>> affectedFields = new ConcurrentHashMap<>();
+
+    private ConfigSchema(Map<String, SchemaField> fields) {
+        this.fields = Collections.unmodifiableMap(fields);
+    }
+
+    private Map<String, List<SchemaField>> indexAffectedFields(char pathSeparator) {
+        Map<String, List<SchemaField>> index = new HashMap<>();
+        for (SchemaField field : fields.values()) {
+            String path = field.getPath();
+            index.computeIfAbsent(path, k -> new ArrayList<>()).add(field);
+            for (int separator = path.lastIndexOf(pathSeparator); separator > 0; separator = path.lastIndexOf(pathSeparator, separator - 1)) {
+                index.computeIfAbsent(path.substring(0, separator), k -> new ArrayList<>()).add(field);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return a new builder to declare the fields of a schema
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Validates all fields against a config
+     *
+     * @param section the section to validate, usually the config itself
+     * @return the violations and validated values
+     */
+    public Result validate(@NotNull ConfigurationSection section) {
+        List<SchemaViolation> violations = new ArrayList<>();
+        Map<String, TypedValue> values = new HashMap<>();
+        for (SchemaField field : fields.values()) {
+            TypedValue value = field.resolve(section.get(field.getPath()), violations);
+            if (value != null) {
+                values.put(field.getPath(), value);
+            }
+        }
+        return new Result(violations, values);
+    }
+
+    /**
+     * Gets all fields whose value changes when a path is written, writing below a field changes the field as well
+     * (for example writing {@code a.b.c} replaces a scalar value of the field {@code a.b} by a section)
+     *
+     * @param path          the written path
+     * @param pathSeparator the path separator of the config the path belongs to
+     * @return the fields at, below or above the path
+     */
+    public List<SchemaField> getAffectedFields(@NotNull String path, char pathSeparator) {
+        List<SchemaField> affected = affectedFields.computeIfAbsent(pathSeparator, this::indexAffectedFields).getOrDefault(path, List.of());
+        List<SchemaField> result = null;
+        for (int separator = path.lastIndexOf(pathSeparator); separator > 0; separator = path.lastIndexOf(pathSeparator, separator - 1)) {
+            SchemaField parent = fields.get(path.substring(0, separator));
+            if (parent != null) {
+                if (result == null) {
+                    result = new ArrayList<>(affected);
+                }
+                result.add(parent);
+            }
+        }
+        return result == null ? affected : result;
+    }
+
+    /**
+     * @param path the full path of the field
+     * @return the field or null if the path is not part of the schema
+     */
+    public SchemaField getField(@NotNull String path) {
+        return fields.get(path);
+    }
+
+    /**
+     * @return all fields by their path
+     */
+    public Collection<SchemaField> getFields() {
+        return fields.values();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConfigSchema[fields=%d]", fields.size());
+    }
+
+    /**
+     * The outcome of a validation
+     *
+     * @param violations all values that did not match their field
+     * @param values     the validated values (or defaults) by their path, fields without a valid value or default are missing
+     */
+    public record Result(List<SchemaViolation> violations, Map<String, TypedValue> values) {
+
+        /**
+         * @return true if no value violated the schema
+         */
+        public boolean isValid() {
+            return violations.isEmpty();
+        }
+    }
+
+    /**
+     * Collects the fields of a schema
+     */
+    public static final class Builder {
+        private final Map<String, SchemaField> fields = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a field, replacing any field with the same path
+         *
+         * @param field the field to add
+         * @return this builder
+         */
+        public Builder add(@NotNull SchemaField field) {
+            fields.put(field.getPath(), field);
+            return this;
+        }
+
+        /**
+         * @return the created schema
+         */
+        public ConfigSchema build() {
+            return new ConfigSchema(new LinkedHashMap<>(fields));
+        }
+    }
+}
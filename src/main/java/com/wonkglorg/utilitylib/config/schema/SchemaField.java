@@ -0,0 +1,189 @@
+package com.wonkglorg.utilitylib.config.schema;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * The declaration of a single value of a {@link ConfigSchema}
+ *
+ * <p>Example:
+ * <pre>
+ *     {@code SchemaField.ofInt("homes.max").range(1, 100).defaultValue(5)}
+ *     {@code SchemaField.ofString("database.url").required()}
+ * </pre>
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class SchemaField {
+    private final String path;
+    private final SchemaType type;
+    private boolean required = false;
+    private double min = Double.NEGATIVE_INFINITY;
+    private double max = Double.POSITIVE_INFINITY;
+    /**
+     * The default value, converted once when it is set
+     */
+    private TypedValue defaultValue;
+
+    private SchemaField(String path, SchemaType type) {
+        this.path = path;
+        this.type = type;
+    }
+
+    /**
+     * Creates a new field
+     *
+     * @param path the full path of the value
+     * @param type the type of the value
+     * @return the created field
+     */
+    public static SchemaField of(@NotNull String path, @NotNull SchemaType type) {
+        return new SchemaField(path, type);
+    }
+
+    public static SchemaField ofString(@NotNull String path) {
+        return of(path, SchemaType.STRING);
+    }
+
+    public static SchemaField ofInt(@NotNull String path) {
+        return of(path, SchemaType.INT);
+    }
+
+    public static SchemaField ofLong(@NotNull String path) {
+        return of(path, SchemaType.LONG);
+    }
+
+    public static SchemaField ofDouble(@NotNull String path) {
+        return of(path, SchemaType.DOUBLE);
+    }
+
+    public static SchemaField ofBoolean(@NotNull String path) {
+        return of(path, SchemaType.BOOLEAN);
+    }
+
+    public static SchemaField ofStringList(@NotNull String path) {
+        return of(path, SchemaType.STRING_LIST);
+    }
+
+    /**
+     * Marks the value as required, a missing value is reported even if the field has a default
+     *
+     * @return this field
+     */
+    public SchemaField required() {
+        this.required = true;
+        return this;
+    }
+
+    /**
+     * Limits the value to a range, for strings and lists the range applies to their length
+     *
+     * @param min the smallest allowed value (inclusive)
+     * @param max the largest allowed value (inclusive)
+     * @return this field
+     */
+    public SchemaField range(double min, double max) {
+        if (min > max) {
+            throw new IllegalArgumentException("min " + min + " is larger than max " + max + " for " + path);
+        }
+        this.min = min;
+        this.max = max;
+        return this;
+    }
+
+    /**
+     * Sets the value used when the config value is missing or invalid
+     *
+     * @param value the default value, has to match the type and range of the field
+     * @return this field
+     */
+    public SchemaField defaultValue(@NotNull Object value) {
+        Object converted = type.convert(value);
+        if (converted == null || checkRange(converted) != null) {
+            throw new IllegalArgumentException("Default value " + value + " does not match " + this);
+        }
+        this.defaultValue = new TypedValue(converted);
+        return this;
+    }
+
+    /**
+     * Validates a raw config value
+     *
+     * @param raw        the value as loaded from the config, null if missing
+     * @param violations the list to add the problems with the value to
+     * @return the validated value, the default if the value is missing or invalid or null if there is no default
+     */
+    @Nullable
+    public TypedValue resolve(@Nullable Object raw, @NotNull List<SchemaViolation> violations) {
+        if (raw == null) {
+            if (required) {
+                violations.add(new SchemaViolation(path, "missing required " + type.name().toLowerCase() + " value"));
+            }
+            return defaultValue;
+        }
+        Object converted = type.convert(raw);
+        if (converted == null) {
+            String found = raw instanceof ConfigurationSection ? "a section" : "'" + raw + "'";
+            violations.add(new SchemaViolation(path, "expected " + type.name().toLowerCase() + " but found " + found));
+            return defaultValue;
+        }
+        String rangeError = checkRange(converted);
+        if (rangeError != null) {
+            violations.add(new SchemaViolation(path, rangeError));
+            return defaultValue;
+        }
+        return new TypedValue(converted);
+    }
+
+    /**
+     * @return an error message if the value is out of range, null otherwise
+     */
+    private String checkRange(Object value) {
+        double measured;
+        if (value instanceof Number number) {
+            measured = number.doubleValue();
+        } else if (value instanceof String string) {
+            measured = string.length();
+        } else if (value instanceof List<?> list) {
+            measured = list.size();
+        } else {
+            return null;
+        }
+        if (measured < min || measured > max) {
+            return String.format("%s is outside of the range [%s, %s]", value instanceof Number ? value : "length " + (long) measured, format(min), format(max));
+        }
+        return null;
+    }
+
+    private static String format(double value) {
+        return value == Math.rint(value) && !Double.isInfinite(value) ? Long.toString((long) value) : Double.toString(value);
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public SchemaType getType() {
+        return type;
+    }
+
+    public boolean isRequired() {
+        return required;
+    }
+
+    /**
+     * @return the default value or null if the field has none
+     */
+    public @Nullable TypedValue getDefaultValue() {
+        return defaultValue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SchemaField[path=%s,type=%s,required=%s,min=%s,max=%s]", path, type, required, format(min), format(max));
+    }
+}
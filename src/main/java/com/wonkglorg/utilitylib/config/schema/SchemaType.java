@@ -0,0 +1,71 @@
+package com.wonkglorg.utilitylib.config.schema;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The types a value of a {@link ConfigSchema} can be declared as
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public enum SchemaType {
+    /**
+     * Any text, numbers and booleans are accepted and converted to their text form
+     */
+    STRING,
+    /**
+     * A whole number in the range of an int
+     */
+    INT,
+    /**
+     * A whole number in the range of a long
+     */
+    LONG,
+    /**
+     * Any number
+     */
+    DOUBLE,
+    /**
+     * true or false
+     */
+    BOOLEAN,
+    /**
+     * A list, every element is converted to its text form
+     */
+    STRING_LIST;
+
+    /**
+     * Converts a raw config value to this type
+     *
+     * @param raw the value as loaded from the config
+     * @return the converted value or null if the value is not of this type
+     */
+    @Nullable
+    Object convert(@Nullable Object raw) {
+        return switch (this) {
+            case STRING -> raw instanceof String || raw instanceof Number || raw instanceof Boolean ? raw.toString() : null;
+            case INT -> raw instanceof Number number && isWhole(number) && number.longValue() == number.intValue() ? number.intValue() : null;
+            case LONG -> raw instanceof Number number && isWhole(number) ? number.longValue() : null;
+            case DOUBLE -> raw instanceof Number number ? number.doubleValue() : null;
+            case BOOLEAN -> raw instanceof Boolean ? raw : null;
+            case STRING_LIST -> {
+                if (!(raw instanceof List<?> list)) {
+                    yield null;
+                }
+                List<String> strings = new ArrayList<>(list.size());
+                for (Object element : list) {
+                    strings.add(String.valueOf(element));
+                }
+                yield Collections.unmodifiableList(strings);
+            }
+        };
+    }
+
+    private static boolean isWhole(Number number) {
+        return !(number instanceof Double || number instanceof Float) || number.doubleValue() == Math.rint(number.doubleValue());
+    }
+}
@@ -0,0 +1,16 @@
+package com.wonkglorg.utilitylib.config.schema;
+
+/**
+ * A value that does not match its {@link SchemaField}
+ *
+ * @param path    the full path of the value
+ * @param message what is wrong with the value
+ * @author Wonkglorg
+ */
+public record SchemaViolation(String path, String message) {
+
+    @Override
+    public String toString() {
+        return path + ": " + message;
+    }
+}
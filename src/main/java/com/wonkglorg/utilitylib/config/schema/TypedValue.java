@@ -0,0 +1,80 @@
+package com.wonkglorg.utilitylib.config.schema;
+
+import java.util.List;
+
+/**
+ * A validated value with all of its primitive forms computed up front, so typed reads neither convert nor box
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class TypedValue {
+    private final Object value;
+    private final String stringValue;
+    private final int intValue;
+    private final long longValue;
+    private final double doubleValue;
+    private final boolean booleanValue;
+
+    TypedValue(Object value) {
+        this.value = value;
+        this.stringValue = value instanceof List<?> ? null : String.valueOf(value);
+        if (value instanceof Number number) {
+            this.intValue = number.intValue();
+            this.longValue = number.longValue();
+            this.doubleValue = number.doubleValue();
+        } else {
+            this.intValue = 0;
+            this.longValue = 0;
+            this.doubleValue = 0;
+        }
+        this.booleanValue = value instanceof Boolean bool && bool;
+    }
+
+    /**
+     * @return the value converted to the type of its field
+     */
+    public Object get() {
+        return value;
+    }
+
+    /**
+     * @return the value as text or null if it is a list
+     */
+    public String asString() {
+        return stringValue;
+    }
+
+    /**
+     * @return the value as int or 0 if it is not a number
+     */
+    public int asInt() {
+        return intValue;
+    }
+
+    /**
+     * @return the value as long or 0 if it is not a number
+     */
+    public long asLong() {
+        return longValue;
+    }
+
+    /**
+     * @return the value as double or 0 if it is not a number
+     */
+    public double asDouble() {
+        return doubleValue;
+    }
+
+    /**
+     * @return the value as boolean or false if it is not a boolean
+     */
+    public boolean asBoolean() {
+        return booleanValue;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TypedValue[value=%s]", value);
+    }
+}
@@ -0,0 +1,294 @@
+package com.wonkglorg.utilitylib.config.sync;
+
+import com.wonkglorg.utilitylib.config.change.ConfigChange;
+import com.wonkglorg.utilitylib.config.change.ConfigChangeDispatcher;
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.types.ConfigYML;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps configs of the same name in sync between multiple servers (nodes). Only the paths that changed since the last publish
+ * are sent, receiving nodes apply them as one batch and notify the change listeners of the config.
+ * <br>
+ * Every config has a version that is increased past the highest version seen with each publish. Conflicts are resolved per path:
+ * every path remembers the version and node of its last write, a received value is only applied if it is newer
+ * (concurrent writes with the same version are resolved by the node id) so every node ends up with the same values.
+ * Paths changed locally but not yet published keep their local value, their next publish wins over the received value.
+ * <br>
+ * Received changes are applied as a {@link ConfigYML.Batch} on the thread of the transport, the batch holds the lock of the config
+ * and swaps the new values in at once. Use {@link ConfigYML#setChangeExecutor} to handle the change notifications on the main thread.
+ * <br>
+ * Received changes are written like local writes: they mark the config dirty and are appended to its journal if enabled,
+ * they reach the file with the next save of the config or right away if {@link #setSaveOnReceive(boolean)} is enabled.
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class ConfigSync implements Closeable {
+    private final Logger LOGGER = ConfigHost.defaultLogger();
+    private final String nodeId;
+    private final SyncTransport transport;
+    /**
+     * The tracked configs by the name they are shared under
+     */
+    private final Map<String, Tracked> tracked = new ConcurrentHashMap<>();
+    /**
+     * If a config is saved after received changes have been applied to it
+     */
+    private volatile boolean saveOnReceive = false;
+
+    /**
+     * Creates a new sync node
+     *
+     * @param nodeId    the unique id of this node (for example the server name)
+     * @param transport the transport to exchange changes with the other nodes
+     */
+    public ConfigSync(@NotNull String nodeId, @NotNull SyncTransport transport) {
+        this.nodeId = nodeId;
+        this.transport = transport;
+        transport.setReceiver(this::receive);
+    }
+
+    /**
+     * Starts syncing a config, the current values of the config are considered already known by the other nodes
+     *
+     * @param name   the name the config is shared under, has to be the same on every node
+     * @param config the config to sync
+     */
+    public void track(@NotNull String name, @NotNull ConfigYML config) {
+        tracked.put(name, new Tracked(config, config.getLeafValues()));
+    }
+
+    /**
+     * Stops syncing a config
+     *
+     * @param name the name the config is shared under
+     */
+    public void untrack(@NotNull String name) {
+        tracked.remove(name);
+    }
+
+    /**
+     * @param name the name the config is shared under
+     * @return true if the config is synced
+     */
+    public boolean isTracked(@NotNull String name) {
+        return tracked.containsKey(name);
+    }
+
+    /**
+     * Publishes the changes of all tracked configs since their last publish
+     *
+     * @return the amount of configs with changes
+     */
+    public int publishChanges() {
+        int published = 0;
+        for (String name : tracked.keySet()) {
+            if (publishChanges(name)) {
+                published++;
+            }
+        }
+        return published;
+    }
+
+    /**
+     * Publishes the changes of a config since its last publish
+     *
+     * @param name the name the config is shared under
+     * @return true if the config had changes to publish
+     */
+    public boolean publishChanges(@NotNull String name) {
+        Tracked entry = tracked.get(name);
+        if (entry == null) {
+            return false;
+        }
+        SyncMessage message;
+        synchronized (entry) {
+            Map<String, Object> current = entry.config.getLeafValues();
+            List<ConfigChange> changes = ConfigChangeDispatcher.diff(entry.snapshot, current);
+            if (changes.isEmpty()) {
+                return false;
+            }
+            entry.version++;
+            Stamp stamp = new Stamp(entry.version, nodeId);
+            Map<String, Object> values = new LinkedHashMap<>();
+            List<String> removed = new ArrayList<>();
+            for (ConfigChange change : changes) {
+                if (change.isRemoved()) {
+                    removed.add(change.path());
+                } else {
+                    values.put(change.path(), change.newValue());
+                }
+                entry.stamps.put(change.path(), stamp);
+            }
+            entry.snapshot = current;
+            message = new SyncMessage(nodeId, name, entry.config.options().pathSeparator(), entry.version, values, removed);
+        }
+        transport.publish(message);
+        return true;
+    }
+
+    /**
+     * Applies a message received from another node
+     *
+     * @param message the received message
+     */
+    private void receive(SyncMessage message) {
+        if (nodeId.equals(message.origin())) {
+            return;
+        }
+        Tracked entry = tracked.get(message.config());
+        if (entry == null) {
+            return;
+        }
+
+        List<ConfigChange> changes = new ArrayList<>();
+        synchronized (entry) {
+            Stamp stamp = new Stamp(message.version(), message.origin());
+            Map<String, Object> received = new LinkedHashMap<>(message.values());
+            for (String path : message.removed()) {
+                received.put(path, null);
+            }
+
+            ConfigYML.Batch batch = entry.config.batch();
+            int ignored = 0;
+            for (var value : received.entrySet()) {
+                String path = value.getKey();
+                Stamp current = entry.stamps.get(path);
+                if (current != null && !stamp.isNewerThan(current)) {
+                    ignored++;
+                    continue;
+                }
+                Object oldValue = entry.config.get(path);
+                if (!Objects.equals(oldValue, entry.snapshot.get(path))) {
+                    //changed locally since the last publish, the local value is published with a higher version later
+                    ignored++;
+                    continue;
+                }
+                if (!Objects.equals(oldValue, value.getValue())) {
+                    changes.add(new ConfigChange(path, oldValue, value.getValue()));
+                    batch.set(path, value.getValue());
+                }
+                if (value.getValue() == null) {
+                    entry.snapshot.remove(path);
+                } else {
+                    entry.snapshot.put(path, value.getValue());
+                }
+                entry.stamps.put(path, stamp);
+            }
+            if (ignored > 0) {
+                LOGGER.log(Level.FINE, "Ignoring " + ignored + " outdated values of " + message);
+            }
+            batch.apply();
+            entry.version = Math.max(entry.version, message.version());
+        }
+        if (saveOnReceive && !changes.isEmpty()) {
+            entry.config.silentSave();
+        }
+        entry.config.notifyChanges(changes);
+    }
+
+    /**
+     * @param saveOnReceive true to save a config right after received changes have been applied to it,
+     *                      otherwise they are saved with the next save of the config (default: false)
+     */
+    public void setSaveOnReceive(boolean saveOnReceive) {
+        this.saveOnReceive = saveOnReceive;
+    }
+
+    /**
+     * @return true if configs are saved right after received changes have been applied to them
+     */
+    public boolean isSaveOnReceive() {
+        return saveOnReceive;
+    }
+
+    /**
+     * @return the id of this node
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @param name the name the config is shared under
+     * @return the current version of the config or -1 if it is not tracked
+     */
+    public long getVersion(@NotNull String name) {
+        Tracked entry = tracked.get(name);
+        if (entry == null) {
+            return -1;
+        }
+        synchronized (entry) {
+            return entry.version;
+        }
+    }
+
+    /**
+     * Stops syncing all configs and closes the transport
+     */
+    @Override
+    public void close() {
+        tracked.clear();
+        try {
+            transport.close();
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Error closing sync transport", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConfigSync[node=%s,configs=%d]", nodeId, tracked.size());
+    }
+
+    /**
+     * The version and node of the last write to a path
+     */
+    private record Stamp(long version, String origin) {
+
+        /**
+         * @param other the stamp to compare to
+         * @return true if this write happened after the other write
+         */
+        private boolean isNewerThan(Stamp other) {
+            return version > other.version || version == other.version && origin.compareTo(other.origin) > 0;
+        }
+    }
+
+    /**
+     * The sync state of a single config
+     */
+    private static final class Tracked {
+        private final ConfigYML config;
+        /**
+         * The leaf values as last published or received
+         */
+        private Map<String, Object> snapshot;
+        /**
+         * The stamp of the last published or received write of each path, removed paths keep their stamp
+         * so an older value received later does not bring them back
+         */
+        private final Map<String, Stamp> stamps = new HashMap<>();
+        /**
+         * The highest version published or received
+         */
+        private long version = 0;
+
+        private Tracked(ConfigYML config, Map<String, Object> snapshot) {
+            this.config = config;
+            this.snapshot = snapshot;
+        }
+    }
+}
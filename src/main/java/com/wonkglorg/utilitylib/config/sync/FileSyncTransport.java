@@ -0,0 +1,160 @@
+package com.wonkglorg.utilitylib.config.sync;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A transport using a directory shared by all nodes (for example a network mount), each message is written as its own yml file
+ * and every node polls the directory for files it has not seen yet. Files older than the retention time are deleted by any node.
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings({"unused", "ResultOfMethodCallIgnored"})
+public final class FileSyncTransport implements SyncTransport {
+    private static final String EXTENSION = ".sync.yml";
+    /**
+     * The separator message files are read with, it never appears in a key so every key is read as a single segment
+     * and the paths can be joined with the separator of the config afterwards
+     */
+    private static final char READ_SEPARATOR = '\u0000';
+    private final Logger LOGGER = ConfigHost.defaultLogger();
+    private final Path directory;
+    private final long retentionMillis;
+    /**
+     * Names of all message files already delivered or published by this node
+     */
+    private final Set<String> seen = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService poller;
+    private volatile Consumer<SyncMessage> receiver;
+
+    /**
+     * Creates a new file transport, messages already in the directory are not delivered
+     *
+     * @param directory    the directory shared by all nodes
+     * @param pollInterval the interval to check for new messages in
+     * @param retention    how long message files are kept before they are deleted
+     * @param unit         the unit of the poll interval and retention
+     */
+    public FileSyncTransport(@NotNull Path directory, long pollInterval, long retention, @NotNull TimeUnit unit) {
+        this.directory = directory;
+        this.retentionMillis = unit.toMillis(retention);
+        directory.toFile().mkdirs();
+        for (File file : listMessageFiles()) {
+            seen.add(file.getName());
+        }
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "FileSyncTransport-Poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        poller.scheduleWithFixedDelay(this::poll, pollInterval, pollInterval, unit);
+    }
+
+    @Override
+    public void publish(@NotNull SyncMessage message) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        //the values are split into sections by the separator of the config they belong to
+        yaml.options().pathSeparator(message.pathSeparator());
+        yaml.set("origin", message.origin());
+        yaml.set("config", message.config());
+        yaml.set("separator", String.valueOf(message.pathSeparator()));
+        yaml.set("version", message.version());
+        ConfigurationSection values = yaml.createSection("values");
+        message.values().forEach(values::set);
+        yaml.set("removed", message.removed());
+
+        //sortable by time so messages are delivered in the order they were published
+        String name = String.format("%020d-%s%s", System.currentTimeMillis(), UUID.randomUUID(), EXTENSION);
+        seen.add(name);
+        Path temp = directory.resolve(name + ".tmp");
+        try {
+            Files.writeString(temp, yaml.saveToString(), StandardCharsets.UTF_8);
+            Files.move(temp, directory.resolve(name), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, "Error publishing sync message for " + message.config(), e);
+        }
+    }
+
+    @Override
+    public void setReceiver(@NotNull Consumer<SyncMessage> receiver) {
+        this.receiver = receiver;
+    }
+
+    /**
+     * Delivers all new message files and deletes expired ones
+     */
+    private void poll() {
+        long now = System.currentTimeMillis();
+        File[] files = listMessageFiles();
+        Arrays.sort(files);
+        for (File file : files) {
+            if (now - file.lastModified() > retentionMillis) {
+                file.delete();
+                seen.remove(file.getName());
+                continue;
+            }
+            if (!seen.add(file.getName())) {
+                continue;
+            }
+            Consumer<SyncMessage> current = receiver;
+            if (current == null) {
+                continue;
+            }
+            try {
+                current.accept(read(file));
+            } catch (IOException | InvalidConfigurationException | RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Error reading sync message " + file.getName(), e);
+            }
+        }
+    }
+
+    private File[] listMessageFiles() {
+        File[] files = directory.toFile().listFiles((dir, name) -> name.endsWith(EXTENSION));
+        return files == null ? new File[0] : files;
+    }
+
+    private static SyncMessage read(File file) throws IOException, InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.options().pathSeparator(READ_SEPARATOR);
+        yaml.load(file);
+        String separator = yaml.getString("separator", ".");
+        char pathSeparator = separator.isEmpty() ? '.' : separator.charAt(0);
+        Map<String, Object> values = new LinkedHashMap<>();
+        ConfigurationSection section = yaml.getConfigurationSection("values");
+        if (section != null) {
+            for (var entry : section.getValues(true).entrySet()) {
+                if (!(entry.getValue() instanceof ConfigurationSection)) {
+                    values.put(entry.getKey().replace(READ_SEPARATOR, pathSeparator), entry.getValue());
+                }
+            }
+        }
+        return new SyncMessage(yaml.getString("origin"), yaml.getString("config"), pathSeparator, yaml.getLong("version"), values, yaml.getStringList("removed"));
+    }
+
+    @Override
+    public void close() {
+        poller.shutdownNow();
+    }
+}
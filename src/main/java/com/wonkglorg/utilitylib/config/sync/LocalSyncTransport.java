@@ -0,0 +1,67 @@
+package com.wonkglorg.utilitylib.config.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * A transport between nodes inside the same process, meant for tests or multiple plugin instances in one server.
+ * Messages are delivered synchronously on the publishing thread.
+ *
+ * <p>Example:
+ * <pre>
+ *     {@code LocalSyncTransport first = new LocalSyncTransport();}
+ *     {@code LocalSyncTransport second = first.connect();}
+ * </pre>
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class LocalSyncTransport implements SyncTransport {
+    /**
+     * All transports connected to each other
+     */
+    private final List<LocalSyncTransport> network;
+    private volatile Consumer<SyncMessage> receiver;
+
+    /**
+     * Creates a new transport with its own network
+     */
+    public LocalSyncTransport() {
+        this(new CopyOnWriteArrayList<>());
+    }
+
+    private LocalSyncTransport(List<LocalSyncTransport> network) {
+        this.network = network;
+        network.add(this);
+    }
+
+    /**
+     * @return a new transport connected to the same network as this one
+     */
+    public LocalSyncTransport connect() {
+        return new LocalSyncTransport(network);
+    }
+
+    @Override
+    public void publish(@NotNull SyncMessage message) {
+        for (LocalSyncTransport transport : network) {
+            Consumer<SyncMessage> current = transport.receiver;
+            if (transport != this && current != null) {
+                current.accept(message);
+            }
+        }
+    }
+
+    @Override
+    public void setReceiver(@NotNull Consumer<SyncMessage> receiver) {
+        this.receiver = receiver;
+    }
+
+    @Override
+    public void close() {
+        network.remove(this);
+    }
+}
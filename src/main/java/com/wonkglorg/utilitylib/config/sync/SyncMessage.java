@@ -0,0 +1,23 @@
+package com.wonkglorg.utilitylib.config.sync;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The changes of a single config published by one node
+ *
+ * @param origin        the id of the node that published the changes
+ * @param config        the name the config is registered by on every node
+ * @param pathSeparator the path separator of the config, the keys of all paths are separated by it
+ * @param version       the version of the config after the changes
+ * @param values        the changed or added values by their full path
+ * @param removed       the full paths of all removed values
+ * @author Wonkglorg
+ */
+public record SyncMessage(String origin, String config, char pathSeparator, long version, Map<String, Object> values, List<String> removed) {
+
+    @Override
+    public String toString() {
+        return String.format("SyncMessage[origin=%s,config=%s,version=%d,values=%d,removed=%d]", origin, config, version, values.size(), removed.size());
+    }
+}
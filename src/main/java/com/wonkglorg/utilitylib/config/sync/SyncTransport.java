@@ -0,0 +1,35 @@
+package com.wonkglorg.utilitylib.config.sync;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.util.function.Consumer;
+
+/**
+ * Carries {@link SyncMessage}s between nodes, see {@link LocalSyncTransport} and {@link FileSyncTransport}
+ *
+ * @author Wonkglorg
+ */
+public interface SyncTransport extends Closeable {
+
+    /**
+     * Sends a message to all other nodes
+     *
+     * @param message the message to send
+     */
+    void publish(@NotNull SyncMessage message);
+
+    /**
+     * Sets the receiver called for every message published by another node
+     *
+     * @param receiver the receiver
+     */
+    void setReceiver(@NotNull Consumer<SyncMessage> receiver);
+
+    /**
+     * Stops receiving messages
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -3,13 +3,16 @@ package com.wonkglorg.utilitylib.config.types;
 import org.bukkit.Color;
 import org.bukkit.Location;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
+import java.util.AbstractMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * @author Wonkglorg
@@ -78,6 +81,44 @@ public interface Config {
 
     <T> Map<String, T> getEntries(@NotNull String path);
 
+    /**
+     * Walks all values of a section, stops as soon as the visitor returns false.
+     * Leaf values are passed to {@link ConfigVisitor#visit(String, Object)} and sections to {@link ConfigVisitor#visitSection(String)}.
+     * The default implementation collects the keys with {@link #getKeys(String, boolean)} first and looks up each value,
+     * implementations holding their values in memory override it to walk them without collecting the keys.
+     *
+     * @param path    path of the section, blank for the root
+     * @param deep    deep search to walk children of children
+     * @param visitor the visitor called for every value
+     * @return true if every value was visited, false if the visitor stopped early
+     */
+    default boolean forEach(String path, boolean deep, @NotNull ConfigVisitor visitor) {
+        String prefix = path == null || path.isBlank() ? "" : path + ".";
+        for (String key : getKeys(path, deep)) {
+            Object value = getObject(prefix + key, Object.class);
+            if (!(value instanceof ConfigurationSection ? visitor.visitSection(key) : visitor.visit(key, value))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Streams all leaf values of a section. The default implementation collects the keys with {@link #getKeys(String, boolean)} first
+     * and looks up each value once the stream reaches it, implementations holding their values in memory override it to only descend
+     * into children once the stream reaches them. Keys removed before the stream reaches them are skipped.
+     *
+     * @param path path of the section, blank for the root
+     * @param deep deep search to include children of children
+     * @return a stream of each path relative to the section and its value
+     */
+    default Stream<Map.Entry<String, Object>> stream(String path, boolean deep) {
+        String prefix = path == null || path.isBlank() ? "" : path + ".";
+        return getKeys(path, deep).stream()
+                .<Map.Entry<String, Object>>map(key -> new AbstractMap.SimpleImmutableEntry<>(key, getObject(prefix + key, Object.class)))
+                .filter(entry -> entry.getValue() != null && !(entry.getValue() instanceof ConfigurationSection));
+    }
+
     /**
      * Checks if a path exists within the config
      *
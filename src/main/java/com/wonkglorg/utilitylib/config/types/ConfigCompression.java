@@ -0,0 +1,116 @@
+package com.wonkglorg.utilitylib.config.types;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * The on disk formats a {@link ConfigYML} can be stored in, see {@link ConfigYML#setCompression(ConfigCompression)}.
+ * Data is compressed and decompressed while it is streamed so the uncompressed file is never held in memory as a whole.
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public enum ConfigCompression {
+    /**
+     * Plain yml
+     */
+    NONE,
+    /**
+     * Yml in a gzip stream, can be opened with any gzip tool
+     */
+    GZIP,
+    /**
+     * Yml in a zlib (deflate) stream, slightly smaller headers than gzip
+     */
+    DEFLATE;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Wraps a stream so everything written to it is compressed in this format
+     *
+     * @param out the stream to write the compressed data to
+     * @return the stream to write the uncompressed data to, closing it finishes the compressed data and closes the given stream
+     * @throws IOException if the compressed header could not be written
+     */
+    public @NotNull OutputStream compress(@NotNull OutputStream out) throws IOException {
+        return switch (this) {
+            case NONE -> out;
+            case GZIP -> new GZIPOutputStream(out, BUFFER_SIZE);
+            case DEFLATE -> new DeflaterOutputStream(out, new Deflater(Deflater.DEFAULT_COMPRESSION), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    //the deflater is not owned by the stream when passed in and has to be released manually
+                    try {
+                        super.close();
+                    } finally {
+                        def.end();
+                    }
+                }
+            };
+        };
+    }
+
+    /**
+     * Wraps a stream so the data read from it is decompressed in this format, streams that do not start with the header of this format
+     * are read as plain yml so existing uncompressed files can still be loaded after enabling compression
+     *
+     * @param in the stream to read the stored data from
+     * @return the stream to read the uncompressed data from
+     * @throws IOException if the header could not be read
+     */
+    public @NotNull InputStream decompress(@NotNull InputStream in) throws IOException {
+        if (this == NONE) {
+            return in;
+        }
+        BufferedInputStream buffered = new BufferedInputStream(in, BUFFER_SIZE);
+        buffered.mark(2);
+        int first = buffered.read();
+        int second = buffered.read();
+        buffered.reset();
+        if (!hasHeader(first, second)) {
+            return buffered;
+        }
+        return switch (this) {
+            case GZIP -> new GZIPInputStream(buffered, BUFFER_SIZE);
+            case DEFLATE -> new InflaterInputStream(buffered, new Inflater(), BUFFER_SIZE) {
+                @Override
+                public void close() throws IOException {
+                    try {
+                        super.close();
+                    } finally {
+                        inf.end();
+                    }
+                }
+            };
+            case NONE -> buffered;
+        };
+    }
+
+    /**
+     * @param first  the first byte of the stream or -1 if the stream is empty
+     * @param second the second byte of the stream or -1 if the stream ended
+     * @return true if the bytes are the header of this format
+     */
+    private boolean hasHeader(int first, int second) {
+        if (first < 0 || second < 0) {
+            return false;
+        }
+        return switch (this) {
+            case NONE -> false;
+            case GZIP -> first == 0x1f && second == 0x8b;
+            //zlib header: deflate method with a checksum making the first two bytes a multiple of 31
+            case DEFLATE -> (first & 0x0f) == 8 && ((first << 8) | second) % 31 == 0;
+        };
+    }
+}
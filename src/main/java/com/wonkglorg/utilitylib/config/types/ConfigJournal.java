@@ -0,0 +1,524 @@
+package com.wonkglorg.utilitylib.config.types;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An append only log of path writes, each record either sets a value at a path or removes it.
+ * Every record starts with a marker followed by its length and a CRC32 checksum over the length and the record itself,
+ * so a record cut off by a crash is recognized and damaged records (including damaged lengths) can be skipped.
+ * <br>
+ * Records are buffered and committed to disk together (on {@link #commit()} or periodically when a commit interval is set),
+ * so many writes only cost a single flush. Replaying the log in order restores every write since it was last truncated.
+ *
+ * <p>A journal can be rotated before a full save of the data it protects, the rotated records are kept until
+ * {@link #discardRotated()} is called once the save finished, so a crash during the save never loses records.
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class ConfigJournal implements Closeable {
+    private static final byte OP_SET = 1;
+    private static final byte OP_REMOVE = 2;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+    /**
+     * Any other value, stored as a yml document with the single key {@link #YAML_KEY}
+     */
+    private static final byte TYPE_YAML = 6;
+    private static final String YAML_KEY = "v";
+    /**
+     * The marker every record starts with, used to find the next record after a damaged one
+     */
+    private static final int RECORD_MAGIC = 0x434A524E;
+    /**
+     * The marker, length and checksum in front of every record
+     */
+    private static final int FRAME_HEADER_SIZE = 12;
+    /**
+     * Shared thread committing all journals with a commit interval
+     */
+    private static ScheduledExecutorService committer;
+
+    private final Path path;
+    private final Path rotatedPath;
+    private final Logger logger;
+    private FileOutputStream fileOutput;
+    private DataOutputStream output;
+    /**
+     * The amount of records in the journal (including rotated records)
+     */
+    private int recordCount = 0;
+    /**
+     * The amount of records moved aside by the last rotation
+     */
+    private int rotatedCount = 0;
+    /**
+     * If records have been appended since the last commit
+     */
+    private boolean pending = false;
+    private ScheduledFuture<?> commitTask;
+
+    /**
+     * Creates a new journal, the file is only created once the first record is appended
+     *
+     * @param path   the path of the journal file
+     * @param logger the logger to report damaged records to
+     */
+    public ConfigJournal(@NotNull Path path, @NotNull Logger logger) {
+        this.path = path;
+        this.rotatedPath = path.resolveSibling(path.getFileName() + ".old");
+        this.logger = logger;
+    }
+
+    /**
+     * Appends a write to the journal, the record is buffered until the next commit
+     *
+     * @param path  the path written to
+     * @param value the written value or null if the path was removed
+     * @throws IOException if the record could not be written
+     */
+    public synchronized void append(@NotNull String path, @Nullable Object value) throws IOException {
+        if (output == null) {
+            Files.createDirectories(this.path.toAbsolutePath().getParent());
+            fileOutput = new FileOutputStream(this.path.toFile(), true);
+            output = new DataOutputStream(new BufferedOutputStream(fileOutput));
+        }
+        writeRecord(output, path, value);
+        recordCount++;
+        pending = true;
+    }
+
+    /**
+     * Writes all buffered records to the file without forcing them to disk
+     *
+     * @throws IOException if the records could not be written
+     */
+    public synchronized void flush() throws IOException {
+        if (output != null) {
+            output.flush();
+        }
+    }
+
+    /**
+     * Writes all buffered records to the file and forces them to disk
+     *
+     * @throws IOException if the records could not be written
+     */
+    public synchronized void commit() throws IOException {
+        if (output != null && pending) {
+            output.flush();
+            fileOutput.getChannel().force(true);
+        }
+        pending = false;
+    }
+
+    /**
+     * Commits the journal periodically so buffered records reach the disk even if no save happens
+     *
+     * @param interval the interval between commits or 0 to only commit when {@link #commit()} is called
+     * @param unit     the unit of the interval
+     */
+    public synchronized void setCommitInterval(long interval, @NotNull TimeUnit unit) {
+        if (commitTask != null) {
+            commitTask.cancel(false);
+            commitTask = null;
+        }
+        if (interval > 0) {
+            commitTask = getCommitter().scheduleAtFixedRate(() -> {
+                try {
+                    commit();
+                } catch (IOException e) {
+                    logger.log(Level.SEVERE, "Error committing journal " + path.getFileName(), e);
+                }
+            }, interval, interval, unit);
+        }
+    }
+
+    private static synchronized ScheduledExecutorService getCommitter() {
+        if (committer == null) {
+            committer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ConfigJournal-Committer");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return committer;
+    }
+
+    /**
+     * Replays all records in the order they were written (rotated records first). A damaged record at the end of a file
+     * (torn by a crash while writing) is cut off. A damaged record in the middle of a file is skipped and logged,
+     * replaying continues at the next intact record and the file is never cut off after it.
+     *
+     * @param consumer receives the path and value of each record, the value is null if the path was removed
+     * @return the amount of records replayed
+     * @throws IOException if the journal could not be read
+     */
+    public synchronized int replay(@NotNull BiConsumer<String, Object> consumer) throws IOException {
+        closeOutput();
+        recordCount = replayFile(rotatedPath, consumer) + replayFile(path, consumer);
+        return recordCount;
+    }
+
+    private int replayFile(Path file, BiConsumer<String, Object> consumer) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        int position = 0;
+        int records = 0;
+        while (position < buffer.limit()) {
+            int length = recordLength(buffer, position);
+            if (length < 0) {
+                int next = findRecord(buffer, position + 1);
+                if (next < 0) {
+                    if (isTornTail(buffer, position)) {
+                        logger.log(Level.WARNING, "Incomplete record at the end of " + file.getFileName() + " after " + records + " records, cutting it off!");
+                        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+                            randomAccessFile.setLength(position);
+                        }
+                    } else {
+                        logger.log(Level.WARNING, "Skipping damaged data at the end of " + file.getFileName() + " after " + records + " records!");
+                    }
+                    break;
+                }
+                logger.log(Level.WARNING, "Skipping damaged record in " + file.getFileName() + " after " + records + " records!");
+                position = next;
+                continue;
+            }
+
+            int payloadStart = position + FRAME_HEADER_SIZE;
+            position = payloadStart + length;
+            try (DataInputStream record = new DataInputStream(new ByteArrayInputStream(buffer.array(), payloadStart, length))) {
+                int op = record.readByte();
+                String recordPath = readString(record);
+                if (op == OP_SET) {
+                    consumer.accept(recordPath, readValue(record));
+                } else if (op == OP_REMOVE) {
+                    consumer.accept(recordPath, null);
+                } else {
+                    throw new IOException("Unknown record type " + op);
+                }
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Skipping unreadable record in " + file.getFileName() + " after " + records + " records: " + e.getMessage());
+                continue;
+            }
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Checks the frame of the record at a position
+     *
+     * @param buffer   the journal file
+     * @param position the start of the record
+     * @return the length of the record payload or -1 if there is no intact record at the position
+     */
+    private static int recordLength(ByteBuffer buffer, int position) {
+        if (buffer.limit() - position < FRAME_HEADER_SIZE || buffer.getInt(position) != RECORD_MAGIC) {
+            return -1;
+        }
+        int length = buffer.getInt(position + 4);
+        if (length < 0 || length > buffer.limit() - position - FRAME_HEADER_SIZE) {
+            return -1;
+        }
+        return checksum(length, buffer.array(), position + FRAME_HEADER_SIZE) == buffer.getInt(position + 8) ? length : -1;
+    }
+
+    /**
+     * Finds the next intact record after a damaged one
+     *
+     * @param buffer the journal file
+     * @param from   the position to start searching at
+     * @return the start of the next intact record or -1 if there is none
+     */
+    private static int findRecord(ByteBuffer buffer, int from) {
+        for (int position = from; position <= buffer.limit() - FRAME_HEADER_SIZE; position++) {
+            if (buffer.getInt(position) == RECORD_MAGIC && recordLength(buffer, position) >= 0) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks if the damaged last record of a file was torn while being written, only a record whose header is cut off
+     * or whose frame reaches exactly to or past the end of the file is a torn tail
+     *
+     * @param buffer   the journal file
+     * @param position the start of the last record
+     * @return true if the record can safely be cut off
+     */
+    private static boolean isTornTail(ByteBuffer buffer, int position) {
+        int remaining = buffer.limit() - position;
+        if (remaining < FRAME_HEADER_SIZE) {
+            return true;
+        }
+        if (buffer.getInt(position) != RECORD_MAGIC) {
+            return false;
+        }
+        int length = buffer.getInt(position + 4);
+        return length >= 0 && length >= remaining - FRAME_HEADER_SIZE;
+    }
+
+    /**
+     * Computes the checksum of a record, covering its length and payload
+     *
+     * @param length the length of the payload
+     * @param data   the bytes holding the payload
+     * @param offset the offset of the payload
+     * @return the checksum
+     */
+    private static int checksum(int length, byte[] data, int offset) {
+        CRC32 crc = new CRC32();
+        crc.update(length >>> 24);
+        crc.update(length >>> 16);
+        crc.update(length >>> 8);
+        crc.update(length);
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Moves all current records aside, new records are written to a fresh file.
+     * Should be called while the data protected by the journal can not change, right before it gets saved.
+     *
+     * @throws IOException if the journal could not be rotated
+     */
+    public synchronized void rotate() throws IOException {
+        commit();
+        closeOutput();
+        rotatedCount = recordCount;
+        if (!Files.exists(path)) {
+            return;
+        }
+        if (Files.exists(rotatedPath)) {
+            //a previous save failed, keep its records in front of the current ones
+            Files.write(rotatedPath, Files.readAllBytes(path), StandardOpenOption.APPEND);
+            Files.delete(path);
+        } else {
+            Files.move(path, rotatedPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Deletes the records moved aside by {@link #rotate()}, should be called once the save after the rotation succeeded
+     *
+     * @throws IOException if the rotated records could not be deleted
+     */
+    public synchronized void discardRotated() throws IOException {
+        Files.deleteIfExists(rotatedPath);
+        recordCount -= rotatedCount;
+        rotatedCount = 0;
+    }
+
+    /**
+     * Replaces all records by a single set record for each value
+     *
+     * @param values the values to write by their full path
+     * @throws IOException if the journal could not be written
+     */
+    public synchronized void rewrite(@NotNull Map<String, Object> values) throws IOException {
+        closeOutput();
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        try (FileOutputStream fileOut = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            for (var entry : values.entrySet()) {
+                writeRecord(out, entry.getKey(), entry.getValue());
+            }
+            out.flush();
+            fileOut.getChannel().force(true);
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.deleteIfExists(rotatedPath);
+        recordCount = values.size();
+        rotatedCount = 0;
+    }
+
+    /**
+     * Deletes all records
+     *
+     * @throws IOException if the journal files could not be deleted
+     */
+    public synchronized void truncate() throws IOException {
+        closeOutput();
+        Files.deleteIfExists(path);
+        Files.deleteIfExists(rotatedPath);
+        recordCount = 0;
+        rotatedCount = 0;
+    }
+
+    /**
+     * @return the amount of records in the journal
+     */
+    public synchronized int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return the path of the journal file
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Commits all buffered records and closes the file, the journal can still be used afterwards
+     */
+    @Override
+    public synchronized void close() {
+        setCommitInterval(0, TimeUnit.MILLISECONDS);
+        closeOutput();
+    }
+
+    private void closeOutput() {
+        if (output == null) {
+            return;
+        }
+        try {
+            output.flush();
+            fileOutput.getChannel().force(true);
+            output.close();
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, e.getMessage(), e);
+        }
+        output = null;
+        fileOutput = null;
+        pending = false;
+    }
+
+    private static void writeRecord(DataOutputStream out, String path, @Nullable Object value) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(64);
+        writePayload(new DataOutputStream(buffer), path, value);
+        byte[] payload = buffer.toByteArray();
+        out.writeInt(RECORD_MAGIC);
+        out.writeInt(payload.length);
+        out.writeInt(checksum(payload.length, payload, 0));
+        out.write(payload);
+    }
+
+    private static void writePayload(DataOutputStream out, String path, @Nullable Object value) throws IOException {
+        out.writeByte(value == null ? OP_REMOVE : OP_SET);
+        writeString(out, path);
+        if (value == null) {
+            return;
+        }
+        if (value instanceof String string) {
+            out.writeByte(TYPE_STRING);
+            writeString(out, string);
+        } else if (value instanceof Integer integer) {
+            out.writeByte(TYPE_INT);
+            out.writeInt(integer);
+        } else if (value instanceof Long longValue) {
+            out.writeByte(TYPE_LONG);
+            out.writeLong(longValue);
+        } else if (value instanceof Double doubleValue) {
+            out.writeByte(TYPE_DOUBLE);
+            out.writeDouble(doubleValue);
+        } else if (value instanceof Boolean bool) {
+            out.writeByte(TYPE_BOOLEAN);
+            out.writeBoolean(bool);
+        } else {
+            YamlConfiguration yaml = new YamlConfiguration();
+            yaml.set(YAML_KEY, value);
+            out.writeByte(TYPE_YAML);
+            writeString(out, yaml.saveToString());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid string length " + length);
+        }
+        byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new IOException("Unexpected end of record");
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Object readValue(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        return switch (type) {
+            case TYPE_STRING -> readString(in);
+            case TYPE_INT -> in.readInt();
+            case TYPE_LONG -> in.readLong();
+            case TYPE_DOUBLE -> in.readDouble();
+            case TYPE_BOOLEAN -> in.readBoolean();
+            case TYPE_YAML -> {
+                YamlConfiguration yaml = new YamlConfiguration();
+                try {
+                    yaml.loadFromString(readString(in));
+                } catch (InvalidConfigurationException e) {
+                    throw new IOException(e);
+                }
+                yield toPlainValue(yaml.get(YAML_KEY));
+            }
+            default -> throw new IOException("Unknown value type " + type);
+        };
+    }
+
+    /**
+     * Converts sections created while parsing a stored value back into the maps they were written as
+     *
+     * @param value the parsed value
+     * @return the value with all sections replaced by maps
+     */
+    private static Object toPlainValue(Object value) {
+        if (!(value instanceof ConfigurationSection section)) {
+            return value;
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (var entry : section.getValues(false).entrySet()) {
+            map.put(entry.getKey(), toPlainValue(entry.getValue()));
+        }
+        return map;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ConfigJournal[path=%s,records=%d]", path.toString(), recordCount);
+    }
+}
@@ -0,0 +1,34 @@
+package com.wonkglorg.utilitylib.config.types;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Visitor called while walking a section of a config, see {@link Config#forEach(String, boolean, ConfigVisitor)}.
+ * Every config passes only leaf values to {@link #visit(String, Object)}, sections are passed to {@link #visitSection(String)}
+ * before their children.
+ *
+ * @author Wonkglorg
+ */
+@FunctionalInterface
+public interface ConfigVisitor {
+
+    /**
+     * Called for each leaf value of the walked section
+     *
+     * @param path  the path of the value relative to the walked section
+     * @param value the value, never a section
+     * @return true to continue walking, false to stop
+     */
+    boolean visit(@NotNull String path, Object value);
+
+    /**
+     * Called for each section inside the walked section before its children are visited, also called for child sections
+     * of a shallow walk even though their children are not visited
+     *
+     * @param path the path of the section relative to the walked section
+     * @return true to continue walking, false to stop
+     */
+    default boolean visitSection(@NotNull String path) {
+        return true;
+    }
+}
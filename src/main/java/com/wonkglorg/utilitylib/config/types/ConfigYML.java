@@ -1,25 +1,65 @@
 package com.wonkglorg.utilitylib.config.types;
 
-import org.bukkit.Bukkit;
+import com.wonkglorg.utilitylib.config.change.ConfigChange;
+import com.wonkglorg.utilitylib.config.change.ConfigChangeDispatcher;
+import com.wonkglorg.utilitylib.config.change.ConfigChangeListener;
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.host.PluginConfigHost;
+import com.wonkglorg.utilitylib.config.schema.ConfigSchema;
+import com.wonkglorg.utilitylib.config.schema.SchemaField;
+import com.wonkglorg.utilitylib.config.schema.SchemaViolation;
+import com.wonkglorg.utilitylib.config.schema.TypedValue;
 import org.bukkit.Location;
+import org.bukkit.configuration.Configuration;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.MemorySection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.configuration.file.YamlConstructor;
+import org.bukkit.configuration.file.YamlRepresenter;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -30,12 +70,78 @@ import java.util.logging.Logger;
 public class ConfigYML extends YamlConfiguration implements Config {
 
     //Add version control. Keep version in yml and add all new values which do not exist yet if current version is higher than the one already existing
+    /**
+     * The plugin of the config, null if the config is not hosted by a plugin
+     *
+     * @deprecated null for every host other than a plugin, use {@link #HOST} instead
+     */
+    @Deprecated
     protected final JavaPlugin PLUGIN;
+    /**
+     * The environment providing the data folder, default resources and logger
+     */
+    protected final ConfigHost HOST;
     protected final String NAME;
     protected final Path SOURCE_PATH;
     protected final Path DESTINATION_PATH;
     protected final File FILE;
-    protected final Logger LOGGER = Bukkit.getLogger();
+    /**
+     * The name of the default resource inside the plugin jar
+     */
+    protected final String RESOURCE_NAME;
+    protected final Logger LOGGER;
+    /**
+     * Lock guarding writes against loads and saves so a save never captures a partially applied batch
+     */
+    protected final Object LOCK = new Object();
+    /**
+     * Lock guarding the current tree against in place writes, lookups hold the read lock while they traverse the tree
+     * and single writes hold the write lock while they modify it. Reloads and batches never modify the current tree
+     * but build a new one and swap it in, so they only block readers for the swap itself.
+     */
+    private final ReadWriteLock treeLock = new ReentrantReadWriteLock();
+    /**
+     * If the config has been changed since it was last loaded or saved
+     */
+    private volatile boolean dirty = false;
+    /**
+     * The listeners notified about changed values after a load
+     */
+    private final ConfigChangeDispatcher changeDispatcher = new ConfigChangeDispatcher();
+    /**
+     * The journal all writes are appended to between full saves, null if journaling is disabled
+     */
+    private volatile ConfigJournal journal;
+    /**
+     * True while the config is filled by a load, writes during a load are not journaled
+     */
+    private boolean loading = false;
+    /**
+     * True once the file is known to exist, so loads and saves don't have to check the file system again
+     */
+    private volatile boolean provisioned = false;
+    /**
+     * The schema the config is validated against on load, null if the config has no schema
+     */
+    private volatile ConfigSchema schema;
+    /**
+     * True while single writes should not update the typed values because the whole schema is validated afterwards
+     */
+    private boolean schemaDeferred = false;
+    /**
+     * The section tree holding all values and the validated values of all schema fields, a load parses and validates the file
+     * into a new tree and swaps both in at once so readers always see either the old or the new values and never a partially loaded config.
+     * Sections of the tree are never handed out directly, they are wrapped in a {@link SectionView} so every access goes through this config.
+     */
+    private volatile TreeState state = new TreeState(new YamlConfiguration(), Map.of());
+    /**
+     * The new tree filled by a running load before it gets swapped in, null outside of loads
+     */
+    private YamlConfiguration pendingTree;
+    /**
+     * The format the file is stored in on disk
+     */
+    private volatile ConfigCompression compression = ConfigCompression.NONE;
 
     /**
      * Creates a new file at the specified location or copies an existing one from the resource folder based on the sourcePath,
@@ -46,11 +152,26 @@ public class ConfigYML extends YamlConfiguration implements Config {
      * @param destinationPath path to copy this file to
      */
     public ConfigYML(@NotNull JavaPlugin plugin, @NotNull Path sourcePath, @NotNull Path destinationPath) {
-        this.PLUGIN = plugin;
+        this(ConfigHost.of(plugin), sourcePath, destinationPath);
+    }
+
+    /**
+     * Creates a new file at the specified location or copies an existing one from the resources of the host based on the sourcePath,
+     * if nothing could be found in the sourcePath it creates a new one. DestinationPath will automatically point to the data folder of the host.
+     *
+     * @param host            the host providing the data folder and resources
+     * @param sourcePath      path inside the resources of the host
+     * @param destinationPath path to copy this file to
+     */
+    public ConfigYML(@NotNull ConfigHost host, @NotNull Path sourcePath, @NotNull Path destinationPath) {
+        this.HOST = host;
+        this.PLUGIN = host instanceof PluginConfigHost pluginHost ? pluginHost.getPlugin() : null;
+        this.LOGGER = host.getLogger();
         this.NAME = destinationPath.getFileName().toString();
         this.SOURCE_PATH = sourcePath;
-        this.DESTINATION_PATH = destinationPath.startsWith(plugin.getDataFolder().toString()) ? destinationPath : Path.of(plugin.getDataFolder().toString(), destinationPath.toString());
+        this.DESTINATION_PATH = destinationPath.startsWith(host.getDataFolder().toString()) ? destinationPath : Path.of(host.getDataFolder().toString(), destinationPath.toString());
         FILE = new File(this.DESTINATION_PATH.toString());
+        this.RESOURCE_NAME = sourcePath.toString().replace('\\', '/');
     }
 
 
@@ -76,6 +197,26 @@ public class ConfigYML extends YamlConfiguration implements Config {
         this(plugin, path, Path.of(plugin.getDataFolder().getPath(), path.toString()));
     }
 
+    /**
+     * Creates a new file in the data folder of the host or copies an existing one from the resources of the host based on the name
+     *
+     * @param host the host providing the data folder and resources
+     * @param name Both the name for destination and source
+     */
+    public ConfigYML(@NotNull ConfigHost host, @NotNull String name) {
+        this(host, Path.of(name), Path.of(host.getDataFolder().getPath(), name));
+    }
+
+    /**
+     * Creates a new file in the data folder of the host or copies an existing one from the resources of the host based on the path
+     *
+     * @param host the host providing the data folder and resources
+     * @param path both the source and destination path
+     */
+    public ConfigYML(@NotNull ConfigHost host, @NotNull Path path) {
+        this(host, path, Path.of(host.getDataFolder().getPath(), path.toString()));
+    }
+
     /**
      * Gets a section of the config at the set path.
      *
@@ -115,6 +256,55 @@ public class ConfigYML extends YamlConfiguration implements Config {
         return Map.of();
     }
 
+    /**
+     * Walks all values of a section, only the keys of the section currently walked are held in memory.
+     * Sections are passed to {@link ConfigVisitor#visitSection(String)} before their children.
+     *
+     * @param path    path of the section, blank for the root
+     * @param deep    deep search to walk children of children
+     * @param visitor the visitor called for every value
+     * @return true if every value was visited, false if the visitor stopped early
+     */
+    @Override
+    public boolean forEach(String path, boolean deep, @NotNull ConfigVisitor visitor) {
+        ConfigurationSection section = path == null || path.isBlank() ? this : getConfigurationSection(path);
+        if (section == null) {
+            return true;
+        }
+        return walk(section, "", deep, visitor, options().pathSeparator());
+    }
+
+    private static boolean walk(ConfigurationSection section, String prefix, boolean deep, ConfigVisitor visitor, char separator) {
+        for (String key : section.getKeys(false)) {
+            Object value = section.get(key);
+            String path = prefix + key;
+            if (value instanceof ConfigurationSection child) {
+                if (!visitor.visitSection(path) || (deep && !walk(child, path + separator, true, visitor, separator))) {
+                    return false;
+                }
+            } else if (!visitor.visit(path, value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Streams all leaf values of a section, the keys of a child section are only read once the stream reaches it
+     *
+     * @param path path of the section, blank for the root
+     * @param deep deep search to include children of children
+     * @return a stream of each path relative to the section and its value
+     */
+    @Override
+    public Stream<Entry<String, Object>> stream(String path, boolean deep) {
+        ConfigurationSection section = path == null || path.isBlank() ? this : getConfigurationSection(path);
+        if (section == null) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(new SectionSpliterator(section, deep, options().pathSeparator()), false);
+    }
+
     public @Nullable String getParentPath(@NotNull String path) {
         ConfigurationSection currentSection = getConfigurationSection(path);
         if (currentSection == null) {
@@ -150,6 +340,819 @@ public class ConfigYML extends YamlConfiguration implements Config {
         }
     }
 
+    /**
+     * Sets a value, the write is applied to the current tree in place while holding the write lock of the tree
+     * so concurrent lookups either see the old or the new value
+     */
+    @Override
+    public void set(@NotNull String path, @Nullable Object value) {
+        synchronized (LOCK) {
+            writeLocked(() -> writeTree().set(path, value));
+            markDirty();
+            if (!loading) {
+                appendToJournal(path, value);
+            }
+            updateTypedValues(path);
+        }
+    }
+
+    /**
+     * Creates a new batch to set many values at once, the values are only written once {@link Batch#apply()} is called
+     *
+     * <p>Example:
+     * <pre>
+     *     {@code config.batch().set("homes.spawn.x", 10).set("homes.spawn.z", 20).apply();}
+     * </pre>
+     *
+     * @return the created batch
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Writes all values of a batch, values are grouped by their parent section so each section is only resolved once.
+     * The batch is applied in place while holding the write lock of the tree and the affected schema values are published together afterwards,
+     * so lookups see either none or all values of the batch and loads and saves never observe a partially applied batch.
+     * Lookups are blocked while the batch is written, which takes time proportional to the size of the batch and not of the config.
+     *
+     * @param entries the paths and values to set (null values remove the path)
+     */
+    protected void applyBatch(@NotNull Map<String, Object> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        char pathSeparator = options().pathSeparator();
+        Map<String, List<Entry<String, Object>>> byParent = new LinkedHashMap<>();
+        for (Entry<String, Object> entry : entries.entrySet()) {
+            int separator = entry.getKey().lastIndexOf(pathSeparator);
+            String parent = separator < 0 ? "" : entry.getKey().substring(0, separator);
+            byParent.computeIfAbsent(parent, k -> new ArrayList<>()).add(entry);
+        }
+
+        synchronized (LOCK) {
+            writeLocked(() -> {
+                TreeState current = state;
+                YamlConfiguration tree = current.tree();
+                for (var group : byParent.entrySet()) {
+                    String parent = group.getKey();
+                    ConfigurationSection section = parent.isEmpty() ? tree : tree.getConfigurationSection(parent);
+                    for (Entry<String, Object> entry : group.getValue()) {
+                        if (section == null) {
+                            if (entry.getValue() == null) {
+                                continue;
+                            }
+                            section = tree.createSection(parent);
+                        }
+                        String key = parent.isEmpty() ? entry.getKey() : entry.getKey().substring(parent.length() + 1);
+                        section.set(key, entry.getValue());
+                    }
+                }
+                Map<String, TypedValue> typedValues = revalidate(tree, entries.keySet());
+                if (typedValues != current.typedValues()) {
+                    state = new TreeState(tree, Map.copyOf(typedValues));
+                }
+            });
+            for (Entry<String, Object> entry : entries.entrySet()) {
+                appendToJournal(entry.getKey(), entry.getValue());
+            }
+            markDirty();
+        }
+    }
+
+    /**
+     * @return true while a load replays the journal into the new tree, only true for the thread holding {@link #LOCK}
+     */
+    protected boolean isLoading() {
+        return loading;
+    }
+
+    /**
+     * Marks the config as changed since it was last loaded or saved
+     */
+    protected void markDirty() {
+        dirty = true;
+    }
+
+    /**
+     * @return true if the config has been changed since it was last loaded or saved
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Loads the file into a new section tree and swaps it in once it is complete (including replayed journal records) and validated
+     * against the schema, readers are never blocked and keep seeing the previous values until the swap. Parsing happens outside of {@link #LOCK}.
+     */
+    @Override
+    public void load(@NotNull File file) throws IOException, InvalidConfigurationException {
+        YamlConfiguration next;
+        try {
+            ConfigCompression format = compression;
+            next = format == ConfigCompression.NONE ? parseTree(Files.readString(file.toPath(), StandardCharsets.UTF_8)) : readCompressed(file, format);
+        } catch (IOException e) {
+            //the file might have been deleted, check it again on the next load
+            provisioned = false;
+            throw e;
+        }
+
+        List<ConfigChange> changes = null;
+        synchronized (LOCK) {
+            Map<String, Object> previous = changeDispatcher.isEmpty() ? null : getLeafValues();
+            loading = true;
+            schemaDeferred = true;
+            pendingTree = next;
+            try {
+                ConfigJournal current = journal;
+                dirty = current != null && current.replay(this::set) > 0;
+            } finally {
+                loading = false;
+                schemaDeferred = false;
+                pendingTree = null;
+            }
+            swapTree(next, validate(next));
+            if (previous != null) {
+                changes = ConfigChangeDispatcher.diff(previous, getLeafValues());
+            }
+        }
+        if (changes != null) {
+            changeDispatcher.dispatch(this, options().pathSeparator(), changes);
+        }
+    }
+
+    @Override
+    public void loadFromString(@NotNull String contents) throws InvalidConfigurationException {
+        YamlConfiguration next = parseTree(contents);
+        synchronized (LOCK) {
+            swapTree(next, validate(next));
+        }
+    }
+
+    /**
+     * Parses yml contents into a new section tree using the options and defaults of this config
+     *
+     * @param contents the yml contents
+     * @return the parsed tree
+     * @throws InvalidConfigurationException if the contents are not valid yml
+     */
+    protected YamlConfiguration parseTree(@NotNull String contents) throws InvalidConfigurationException {
+        YamlConfiguration next = newTree();
+        next.loadFromString(contents);
+        return next;
+    }
+
+    /**
+     * Streams a compressed file into a new section tree, the file is decompressed and parsed in chunks so the uncompressed yml is never held in memory as a whole.
+     * Comments are not read from compressed files.
+     *
+     * @param file   the file to read
+     * @param format the format the file is stored in
+     * @return the parsed tree
+     * @throws IOException                   if the file could not be read
+     * @throws InvalidConfigurationException if the contents are not valid yml
+     */
+    protected YamlConfiguration readCompressed(@NotNull File file, @NotNull ConfigCompression format) throws IOException, InvalidConfigurationException {
+        Object data;
+        try (Reader reader = new InputStreamReader(format.decompress(Files.newInputStream(file.toPath())), StandardCharsets.UTF_8)) {
+            data = createYaml().load(reader);
+        } catch (YAMLException e) {
+            throw new InvalidConfigurationException(e.getMessage(), e);
+        }
+
+        YamlConfiguration next = newTree();
+        if (data == null) {
+            return next;
+        }
+        if (!(data instanceof Map<?, ?> map)) {
+            throw new InvalidConfigurationException("Top level of " + NAME + " is not a map!");
+        }
+        for (Entry<?, ?> entry : map.entrySet()) {
+            String key = String.valueOf(entry.getKey());
+            if (entry.getValue() instanceof Map<?, ?> section) {
+                next.createSection(key, section);
+            } else {
+                next.set(key, entry.getValue());
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Streams the values into a compressed file, the yml is compressed while it is written so it is never held in memory as a whole.
+     * Comments, header and footer are not written to compressed files. Like {@link #save(File)} the journal and dirty state
+     * are only cleared when writing the file of this config.
+     *
+     * @param file   the file to write
+     * @param format the format to store the file in
+     * @throws IOException if the file could not be written
+     */
+    private void writeCompressed(@NotNull File file, @NotNull ConfigCompression format) throws IOException {
+        //only the section structure is copied under the lock, the values themselves are shared with the tree
+        boolean ownFile = isOwnFile(file);
+        ConfigJournal current = ownFile ? journal : null;
+        Map<String, Object> snapshot;
+        synchronized (LOCK) {
+            snapshot = snapshotTree();
+            if (current != null) {
+                current.rotate();
+            }
+            if (ownFile) {
+                dirty = false;
+            }
+        }
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            try (Writer writer = new OutputStreamWriter(format.compress(Files.newOutputStream(temp)), StandardCharsets.UTF_8)) {
+                createYaml().dump(snapshot, writer);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | YAMLException e) {
+            if (ownFile) {
+                dirty = true;
+            }
+            throw e instanceof IOException io ? io : new IOException(e.getMessage(), e);
+        }
+        if (current != null) {
+            current.discardRotated();
+        }
+    }
+
+    /**
+     * Copies the section structure of the config into nested maps, values are not copied
+     *
+     * @return the values of the config as nested maps
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> snapshotTree() {
+        Map<String, Object> root = new LinkedHashMap<>();
+        char pathSeparator = options().pathSeparator();
+        for (Entry<String, Object> entry : getValues(true).entrySet()) {
+            String path = entry.getKey();
+            Map<String, Object> parent = root;
+            int start = 0;
+            int separator;
+            while ((separator = path.indexOf(pathSeparator, start)) >= 0) {
+                parent = (Map<String, Object>) parent.computeIfAbsent(path.substring(start, separator), key -> new LinkedHashMap<>());
+                start = separator + 1;
+            }
+            String key = path.substring(start);
+            if (entry.getValue() instanceof ConfigurationSection) {
+                parent.computeIfAbsent(key, k -> new LinkedHashMap<>());
+            } else {
+                parent.put(key, entry.getValue());
+            }
+        }
+        return root;
+    }
+
+    /**
+     * @return a yml parser and emitter using the same settings and serialization as {@link YamlConfiguration}, parsers are not thread safe
+     */
+    private static Yaml createYaml() {
+        LoaderOptions loaderOptions = new LoaderOptions();
+        loaderOptions.setMaxAliasesForCollections(Integer.MAX_VALUE);
+        loaderOptions.setCodePointLimit(Integer.MAX_VALUE);
+        DumperOptions dumperOptions = new DumperOptions();
+        dumperOptions.setIndent(2);
+        dumperOptions.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        YamlRepresenter representer = new YamlRepresenter(dumperOptions);
+        representer.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+        return new Yaml(new YamlConstructor(loaderOptions), representer, dumperOptions, loaderOptions);
+    }
+
+    /**
+     * @return a new empty tree using the options and defaults of this config
+     */
+    protected YamlConfiguration newTree() {
+        YamlConfiguration next = new YamlConfiguration();
+        next.options().parseComments(options().parseComments());
+        next.options().pathSeparator(options().pathSeparator());
+        Configuration defaults = getDefaults();
+        if (defaults != null) {
+            next.setDefaults(defaults);
+        }
+        return next;
+    }
+
+    /**
+     * Sets the format the file is stored in, takes effect on the next load and save. Existing plain yml files are still loaded
+     * after enabling compression and are compressed on the next save.
+     * <br>
+     * Compressed files are meant for large data files that are not edited by hand, comments, header and footer are not kept:
+     * they are not written to compressed files, so they are lost with the first compressed save of a plain file.
+     *
+     * @param compression the format to store the file in
+     */
+    public void setCompression(@NotNull ConfigCompression compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * @return the format the file is stored in
+     */
+    public @NotNull ConfigCompression getCompression() {
+        return compression;
+    }
+
+    /**
+     * Replaces the section tree and the validated schema values of this config, readers see the new tree and its values as a whole.
+     * Always called while holding {@link #LOCK}. The previous tree is not modified afterwards, lookups still traversing it finish on the old values.
+     *
+     * @param next        the new tree
+     * @param typedValues the validated values of the new tree, see {@link #validate(ConfigurationSection)}
+     */
+    protected void swapTree(@NotNull YamlConfiguration next, @NotNull Map<String, TypedValue> typedValues) {
+        options().setHeader(next.options().getHeader());
+        options().setFooter(next.options().getFooter());
+        state = new TreeState(next, Map.copyOf(typedValues));
+    }
+
+    /**
+     * @return the validated schema values of the current tree
+     */
+    protected Map<String, TypedValue> getTypedValues() {
+        return state.typedValues();
+    }
+
+    /**
+     * @return the tree writes go to, the pending tree while a load replays the journal
+     */
+    private YamlConfiguration writeTree() {
+        YamlConfiguration pending = pendingTree;
+        return pending != null ? pending : state.tree();
+    }
+
+    /**
+     * Runs a write on the tree while holding the write lock of the tree
+     *
+     * @param write the write to run
+     */
+    private void writeLocked(Runnable write) {
+        treeLock.writeLock().lock();
+        try {
+            write.run();
+        } finally {
+            treeLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Gets a section of the current tree itself, only to be read while holding the read lock of the tree
+     *
+     * @param path the full path of the section
+     * @return the section or null if the path is not a section
+     */
+    private @Nullable ConfigurationSection treeSection(String path) {
+        YamlConfiguration current = state.tree();
+        return path.isEmpty() ? current : current.getConfigurationSection(path);
+    }
+
+    /**
+     * Wraps the sections of the tree in a map of values into views of this config
+     *
+     * @param prefix the full path of the section the values belong to followed by the path separator, empty for the root
+     * @param values the values to wrap, modified in place
+     * @return the values
+     */
+    private Map<String, Object> wrapSections(String prefix, Map<String, Object> values) {
+        for (Entry<String, Object> entry : values.entrySet()) {
+            if (entry.getValue() instanceof ConfigurationSection) {
+                entry.setValue(new SectionView(prefix + entry.getKey()));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public @Nullable Object get(@NotNull String path, @Nullable Object def) {
+        if (path.isEmpty()) {
+            return this;
+        }
+        treeLock.readLock().lock();
+        try {
+            YamlConfiguration current = state.tree();
+            Object value = current.get(path, def);
+            if (value instanceof ConfigurationSection section && section.getRoot() == current) {
+                return new SectionView(section.getCurrentPath());
+            }
+            return value;
+        } finally {
+            treeLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public @NotNull Set<String> getKeys(boolean deep) {
+        treeLock.readLock().lock();
+        try {
+            return state.tree().getKeys(deep);
+        } finally {
+            treeLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public @NotNull Map<String, Object> getValues(boolean deep) {
+        treeLock.readLock().lock();
+        try {
+            return wrapSections("", state.tree().getValues(deep));
+        } finally {
+            treeLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public @NotNull ConfigurationSection createSection(@NotNull String path) {
+        return createSection(path, Map.of());
+    }
+
+    /**
+     * Creates a section replacing any value at the path, the replaced value and the values of the section are journaled like single writes
+     */
+    @Override
+    public @NotNull ConfigurationSection createSection(@NotNull String path, @NotNull Map<?, ?> map) {
+        synchronized (LOCK) {
+            writeLocked(() -> writeTree().createSection(path, map));
+            markDirty();
+            if (!loading) {
+                appendToJournal(path, null);
+                appendSectionToJournal(path, map);
+            }
+            updateTypedValues(path);
+        }
+        return new SectionView(path);
+    }
+
+    /**
+     * Appends every value of a section created from a map to the journal
+     *
+     * @param path the full path of the section
+     * @param map  the values of the section, maps are child sections
+     */
+    private void appendSectionToJournal(String path, Map<?, ?> map) {
+        for (Entry<?, ?> entry : map.entrySet()) {
+            String childPath = path + options().pathSeparator() + entry.getKey();
+            if (entry.getValue() instanceof Map<?, ?> child) {
+                appendSectionToJournal(childPath, child);
+            } else {
+                appendToJournal(childPath, entry.getValue());
+            }
+        }
+    }
+
+    @Override
+    public @NotNull List<String> getComments(@NotNull String path) {
+        treeLock.readLock().lock();
+        try {
+            return state.tree().getComments(path);
+        } finally {
+            treeLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void setComments(@NotNull String path, @Nullable List<String> comments) {
+        synchronized (LOCK) {
+            writeLocked(() -> writeTree().setComments(path, comments));
+        }
+    }
+
+    @Override
+    public @NotNull List<String> getInlineComments(@NotNull String path) {
+        treeLock.readLock().lock();
+        try {
+            return state.tree().getInlineComments(path);
+        } finally {
+            treeLock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void setInlineComments(@NotNull String path, @Nullable List<String> comments) {
+        synchronized (LOCK) {
+            writeLocked(() -> writeTree().setInlineComments(path, comments));
+        }
+    }
+
+    /**
+     * Sets the schema the config is validated against, the config is validated right away and again after every load
+     *
+     * @param schema the schema or null to remove it
+     * @return all values violating the schema
+     */
+    public List<SchemaViolation> setSchema(@Nullable ConfigSchema schema) {
+        synchronized (LOCK) {
+            this.schema = schema;
+            return validateSchema();
+        }
+    }
+
+    /**
+     * @return the schema of the config or null if it has none
+     */
+    public @Nullable ConfigSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Validates the whole config against its schema and logs all violations as one message,
+     * the validated values replace the previous ones at once
+     *
+     * @return all values violating the schema
+     */
+    public List<SchemaViolation> validateSchema() {
+        synchronized (LOCK) {
+            ConfigSchema current = schema;
+            ConfigSchema.Result result = current == null ? null : validateAndLog(current, this);
+            state = new TreeState(state.tree(), result == null ? Map.of() : Map.copyOf(result.values()));
+            return result == null ? List.of() : result.violations();
+        }
+    }
+
+    /**
+     * Validates a tree against the schema before it is published and logs all violations as one message
+     *
+     * @param source the tree to validate
+     * @return the validated values or an empty map if the config has no schema
+     */
+    protected Map<String, TypedValue> validate(@NotNull ConfigurationSection source) {
+        ConfigSchema current = schema;
+        return current == null ? Map.of() : validateAndLog(current, source).values();
+    }
+
+    private ConfigSchema.Result validateAndLog(ConfigSchema current, ConfigurationSection source) {
+        ConfigSchema.Result result = current.validate(source);
+        if (!result.isValid()) {
+            StringBuilder builder = new StringBuilder("Config ").append(NAME).append(" has ").append(result.violations().size()).append(" invalid values:");
+            for (SchemaViolation violation : result.violations()) {
+                builder.append(System.lineSeparator()).append("  - ").append(violation);
+            }
+            LOGGER.log(Level.WARNING, builder.toString());
+        }
+        return result;
+    }
+
+    /**
+     * Validates the schema fields affected by writes to a tree, the values of all other fields are kept
+     *
+     * @param source the written tree
+     * @param paths  the written paths
+     * @return the validated values of the tree
+     */
+    private Map<String, TypedValue> revalidate(ConfigurationSection source, Collection<String> paths) {
+        ConfigSchema current = schema;
+        Map<String, TypedValue> typedValues = state.typedValues();
+        if (current == null) {
+            return typedValues;
+        }
+        Map<String, TypedValue> next = null;
+        for (String path : paths) {
+            for (SchemaField field : current.getAffectedFields(path, options().pathSeparator())) {
+                if (next == null) {
+                    next = new HashMap<>(typedValues);
+                }
+                List<SchemaViolation> violations = new ArrayList<>(1);
+                TypedValue value = field.resolve(source.get(field.getPath()), violations);
+                if (value == null) {
+                    next.remove(field.getPath());
+                } else {
+                    next.put(field.getPath(), value);
+                }
+                for (SchemaViolation violation : violations) {
+                    LOGGER.log(Level.WARNING, "Config " + NAME + " has an invalid value " + violation);
+                }
+            }
+        }
+        return next == null ? typedValues : next;
+    }
+
+    /**
+     * Validates the schema fields affected by a single write to the current tree and publishes their values at once
+     *
+     * @param path the written path
+     */
+    private void updateTypedValues(String path) {
+        if (schema == null || schemaDeferred) {
+            return;
+        }
+        TreeState current = state;
+        Map<String, TypedValue> next = revalidate(this, List.of(path));
+        if (next != current.typedValues()) {
+            state = new TreeState(current.tree(), Map.copyOf(next));
+        }
+    }
+
+    @Override
+    public @Nullable String getString(@NotNull String path) {
+        TypedValue value = state.typedValues().get(path);
+        return value != null ? value.asString() : super.getString(path);
+    }
+
+    @Override
+    public int getInt(@NotNull String path) {
+        TypedValue value = state.typedValues().get(path);
+        return value != null ? value.asInt() : super.getInt(path);
+    }
+
+    @Override
+    public long getLong(@NotNull String path) {
+        TypedValue value = state.typedValues().get(path);
+        return value != null ? value.asLong() : super.getLong(path);
+    }
+
+    @Override
+    public double getDouble(@NotNull String path) {
+        TypedValue value = state.typedValues().get(path);
+        return value != null ? value.asDouble() : super.getDouble(path);
+    }
+
+    @Override
+    public boolean getBoolean(@NotNull String path) {
+        TypedValue value = state.typedValues().get(path);
+        return value != null ? value.asBoolean() : super.getBoolean(path);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public @NotNull List<String> getStringList(@NotNull String path) {
+        TypedValue value = state.typedValues().get(path);
+        return value != null && value.get() instanceof List<?> list ? new ArrayList<>((List<String>) list) : super.getStringList(path);
+    }
+
+    /**
+     * Subscribes a listener to all values at or below a path, the listener is notified after every load that changed any of these values
+     *
+     * @param path     the path to listen to, blank to listen to every change
+     * @param listener the listener
+     */
+    public void subscribe(@NotNull String path, @NotNull ConfigChangeListener listener) {
+        changeDispatcher.subscribe(path, options().pathSeparator(), listener);
+    }
+
+    /**
+     * Removes a listener from a path it was subscribed to
+     *
+     * @param path     the path the listener was subscribed to
+     * @param listener the listener
+     */
+    public void unsubscribe(@NotNull String path, @NotNull ConfigChangeListener listener) {
+        changeDispatcher.unsubscribe(path, options().pathSeparator(), listener);
+    }
+
+    /**
+     * @param executor the executor to notify change listeners on or null to notify them on the loading thread
+     */
+    public void setChangeExecutor(@Nullable Executor executor) {
+        changeDispatcher.setExecutor(executor);
+    }
+
+    /**
+     * Notifies all change listeners of changes applied outside of a load, for example changes received from another server
+     *
+     * @param changes the changes to notify the listeners about
+     */
+    public void notifyChanges(@NotNull List<ConfigChange> changes) {
+        if (!changes.isEmpty() && !changeDispatcher.isEmpty()) {
+            changeDispatcher.dispatch(this, options().pathSeparator(), changes);
+        }
+    }
+
+    /**
+     * Gets all values that are not sections by their full path
+     *
+     * @return the leaf values of the config
+     */
+    public Map<String, Object> getLeafValues() {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (Entry<String, Object> entry : getValues(true).entrySet()) {
+            if (!(entry.getValue() instanceof ConfigurationSection)) {
+                values.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Saves the config to a file, only a save to the file of this config clears the journal and the dirty state.
+     * Saving to any other file writes a copy and keeps both, the writes are not persisted in the file of this config yet.
+     */
+    @Override
+    public void save(@NotNull File file) throws IOException {
+        ConfigCompression format = compression;
+        if (format != ConfigCompression.NONE) {
+            writeCompressed(file, format);
+            return;
+        }
+        if (!isOwnFile(file)) {
+            super.save(file);
+            return;
+        }
+        ConfigJournal current = journal;
+        if (current == null) {
+            dirty = false;
+            try {
+                super.save(file);
+            } catch (IOException e) {
+                dirty = true;
+                throw e;
+            }
+            return;
+        }
+
+        //the journal is rotated together with taking the snapshot so records written during the save are kept
+        String data;
+        synchronized (LOCK) {
+            data = saveToString();
+            current.rotate();
+            dirty = false;
+        }
+        Path target = file.toPath();
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            Files.writeString(temp, data, StandardCharsets.UTF_8);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            throw e;
+        }
+        current.discardRotated();
+    }
+
+    /**
+     * @param file the file to check
+     * @return true if the file is the file of this config
+     */
+    private boolean isOwnFile(File file) {
+        return file.getAbsoluteFile().equals(FILE.getAbsoluteFile());
+    }
+
+    /**
+     * Enables the write ahead journal, every write is appended to a journal file next to the config and replayed on the next load,
+     * so writes since the last save survive a crash without rewriting the whole file. A full save to the file of the config clears the journal.
+     * <br>
+     * Values written through sections of the config and sections created with values are journaled as well,
+     * comments and empty sections are only kept by a full save.
+     * <br>
+     * Should be enabled before the config is loaded (before it is added to the {@link com.wonkglorg.utilitylib.config.ConfigManager}).
+     *
+     * @param commitInterval the interval in which buffered writes are forced to disk, 0 to only write them on save
+     * @param unit           the unit of the interval
+     */
+    public void enableJournal(long commitInterval, @NotNull TimeUnit unit) {
+        synchronized (LOCK) {
+            if (journal == null) {
+                journal = new ConfigJournal(DESTINATION_PATH.resolveSibling(NAME + ".journal"), LOGGER);
+            }
+            journal.setCommitInterval(commitInterval, unit);
+        }
+    }
+
+    /**
+     * Saves the config and disables the write ahead journal
+     */
+    public void disableJournal() {
+        synchronized (LOCK) {
+            if (journal == null) {
+                return;
+            }
+            silentSave();
+            journal.close();
+            journal = null;
+        }
+    }
+
+    /**
+     * @return the write ahead journal or null if journaling is disabled
+     */
+    public @Nullable ConfigJournal getJournal() {
+        return journal;
+    }
+
+    private void appendToJournal(String path, @Nullable Object value) {
+        ConfigJournal current = journal;
+        if (current == null) {
+            return;
+        }
+        try {
+            current.append(path, value);
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error writing journal of " + NAME + "!");
+            LOGGER.log(Level.SEVERE, e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public @NotNull String saveToString() {
+        synchronized (LOCK) {
+            return super.saveToString();
+        }
+    }
+
     public void load() {
         checkFile();
         try {
@@ -205,27 +1208,239 @@ public class ConfigYML extends YamlConfiguration implements Config {
 
     /**
      * Checks if file exists in path, else create the file and all parent directories needed.
+     * Only checks the file system until the file is known to exist, see {@link ResourceProvisioner} to provision many configs at once.
      */
     protected void checkFile() {
+        if (provisioned) {
+            return;
+        }
         if (!FILE.exists()) {
             FILE.getParentFile().mkdirs();
-            InputStream inputStream = PLUGIN.getResource(SOURCE_PATH.toString().replaceAll("\\\\", "/"));
-            if (inputStream != null) {
-                try {
+            try (InputStream inputStream = HOST.getResource(RESOURCE_NAME)) {
+                if (inputStream != null) {
                     Files.copy(inputStream, DESTINATION_PATH);
-                } catch (IOException e) {
-                    LOGGER.log(Level.SEVERE, "Error Copying data from " + SOURCE_PATH + " to destination " + DESTINATION_PATH);
-                    LOGGER.log(Level.SEVERE, e.getMessage(), e);
+                } else {
+                    createEmptyFile();
                 }
-            } else {
-                FILE.getParentFile().mkdirs();
-                try {
-                    FILE.createNewFile();
-                } catch (IOException e) {
-                    throw new RuntimeException(e);
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, "Error Copying data from " + SOURCE_PATH + " to destination " + DESTINATION_PATH);
+                LOGGER.log(Level.SEVERE, e.getMessage(), e);
+                return;
+            }
+        }
+        provisioned = true;
+    }
+
+    /**
+     * Creates the file without content
+     */
+    void createEmptyFile() {
+        try {
+            FILE.createNewFile();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * @return true once the file is known to exist
+     */
+    public boolean isProvisioned() {
+        return provisioned;
+    }
+
+    /**
+     * Marks the file as existing so it is no longer checked on load and save
+     */
+    void markProvisioned() {
+        provisioned = true;
+    }
+
+    /**
+     * Lazily walks a section tree depth first, keeping one key iterator per section on the current path
+     */
+    private static final class SectionSpliterator extends Spliterators.AbstractSpliterator<Entry<String, Object>> {
+        private final Deque<Frame> stack = new ArrayDeque<>();
+        private final boolean deep;
+        private final char separator;
+
+        private SectionSpliterator(ConfigurationSection section, boolean deep, char separator) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+            this.deep = deep;
+            this.separator = separator;
+            stack.push(new Frame(section, ""));
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Entry<String, Object>> action) {
+            while (!stack.isEmpty()) {
+                Frame frame = stack.peek();
+                if (!frame.keys.hasNext()) {
+                    stack.pop();
+                    continue;
                 }
+                String key = frame.keys.next();
+                Object value = frame.section.get(key);
+                String path = frame.prefix + key;
+                if (value instanceof ConfigurationSection child) {
+                    if (deep) {
+                        stack.push(new Frame(child, path + separator));
+                    }
+                    continue;
+                }
+                action.accept(Map.entry(path, value));
+                return true;
+            }
+            return false;
+        }
+
+        private static final class Frame {
+            private final ConfigurationSection section;
+            private final String prefix;
+            private final Iterator<String> keys;
+
+            private Frame(ConfigurationSection section, String prefix) {
+                this.section = section;
+                this.prefix = prefix;
+                this.keys = section.getKeys(false).iterator();
+            }
+        }
+    }
+
+    /**
+     * A section of this config, all reads and writes are passed to the config by their full path so writes through a section
+     * are journaled, validated and locked the same way as writes to the config itself. {@link #getRoot()} is this config.
+     */
+    private final class SectionView extends MemorySection {
+
+        private SectionView(String fullPath) {
+            super(ConfigYML.this, fullPath);
+        }
+
+        private String child(String path) {
+            return getCurrentPath() + options().pathSeparator() + path;
+        }
+
+        @Override
+        public @NotNull String getName() {
+            String fullPath = getCurrentPath();
+            return fullPath.substring(fullPath.lastIndexOf(options().pathSeparator()) + 1);
+        }
+
+        @Override
+        public @Nullable ConfigurationSection getParent() {
+            String fullPath = getCurrentPath();
+            int separator = fullPath.lastIndexOf(options().pathSeparator());
+            return separator < 0 ? ConfigYML.this : new SectionView(fullPath.substring(0, separator));
+        }
+
+        @Override
+        public @Nullable Object get(@NotNull String path, @Nullable Object def) {
+            return path.isEmpty() ? this : ConfigYML.this.get(child(path), def);
+        }
+
+        @Override
+        public void set(@NotNull String path, @Nullable Object value) {
+            ConfigYML.this.set(child(path), value);
+        }
+
+        @Override
+        public @NotNull ConfigurationSection createSection(@NotNull String path) {
+            return ConfigYML.this.createSection(child(path));
+        }
+
+        @Override
+        public @NotNull ConfigurationSection createSection(@NotNull String path, @NotNull Map<?, ?> map) {
+            return ConfigYML.this.createSection(child(path), map);
+        }
+
+        @Override
+        public @NotNull Set<String> getKeys(boolean deep) {
+            treeLock.readLock().lock();
+            try {
+                ConfigurationSection section = treeSection(getCurrentPath());
+                return section == null ? new LinkedHashSet<>() : section.getKeys(deep);
+            } finally {
+                treeLock.readLock().unlock();
+            }
+        }
+
+        @Override
+        public @NotNull Map<String, Object> getValues(boolean deep) {
+            treeLock.readLock().lock();
+            try {
+                ConfigurationSection section = treeSection(getCurrentPath());
+                return section == null ? new LinkedHashMap<>() : wrapSections(getCurrentPath() + options().pathSeparator(), section.getValues(deep));
+            } finally {
+                treeLock.readLock().unlock();
             }
         }
+
+        @Override
+        public @NotNull List<String> getComments(@NotNull String path) {
+            return ConfigYML.this.getComments(child(path));
+        }
+
+        @Override
+        public void setComments(@NotNull String path, @Nullable List<String> comments) {
+            ConfigYML.this.setComments(child(path), comments);
+        }
+
+        @Override
+        public @NotNull List<String> getInlineComments(@NotNull String path) {
+            return ConfigYML.this.getInlineComments(child(path));
+        }
+
+        @Override
+        public void setInlineComments(@NotNull String path, @Nullable List<String> comments) {
+            ConfigYML.this.setInlineComments(child(path), comments);
+        }
+    }
+
+    /**
+     * A group of values to set at once, see {@link #batch()}
+     */
+    public final class Batch {
+        private final Map<String, Object> entries = new LinkedHashMap<>();
+
+        private Batch() {
+        }
+
+        /**
+         * Adds a value to set, setting the same path twice keeps the last value
+         *
+         * @param path  Path to put
+         * @param value Value to set or null to remove the path
+         * @return this batch
+         */
+        public Batch set(@NotNull String path, @Nullable Object value) {
+            entries.put(path, value);
+            return this;
+        }
+
+        /**
+         * Writes all values of this batch to the config and clears the batch
+         */
+        public void apply() {
+            applyBatch(entries);
+            entries.clear();
+        }
+
+        /**
+         * @return the amount of values in this batch
+         */
+        public int size() {
+            return entries.size();
+        }
+    }
+
+    /**
+     * The published state of the config, replaced as a whole so the tree and its validated values always match
+     *
+     * @param tree        the section tree holding all values
+     * @param typedValues the validated values of all schema fields, typed reads of these paths skip conversion and default handling
+     */
+    private record TreeState(YamlConfiguration tree, Map<String, TypedValue> typedValues) {
     }
 
     @Override
@@ -0,0 +1,585 @@
+package com.wonkglorg.utilitylib.config.types;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * A config stored as an append only log of key value records instead of a yml document, meant for data that changes often (like per player data).
+ * <br>
+ * All values are held in a flat map sorted by their full path, so reading and writing a single value is O(log n)
+ * and the values of a section are a contiguous range of the map that is found without scanning all keys.
+ * Every {@link #set(String, Object)} only appends a small record to the log file instead of rewriting the whole file,
+ * {@link #save()} flushes the log to disk and compacts it once it holds a lot more records than values.
+ * Records can also be forced to disk periodically with {@link #setCommitInterval(long, TimeUnit)} or after every write with {@link #setFlushOnWrite(boolean)}.
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public class KeyValueConfig implements Config {
+    /**
+     * The log is only compacted if it holds at least this many records
+     */
+    private static final int MIN_COMPACTION_RECORDS = 1024;
+
+    protected final ConfigHost HOST;
+    protected final String NAME;
+    protected final Path DESTINATION_PATH;
+    protected final File FILE;
+    protected final Logger LOGGER;
+    /**
+     * Lock guarding the log file and all writes
+     */
+    protected final Object LOCK = new Object();
+    /**
+     * All values by their full path, sorted so the values of a section are next to each other
+     */
+    private final ConcurrentNavigableMap<String, Object> values = new ConcurrentSkipListMap<>();
+    /**
+     * The amount of values below each section path, used to know if a path is a section without scanning all keys
+     */
+    private final ConcurrentNavigableMap<String, Integer> sectionSizes = new ConcurrentSkipListMap<>();
+    /**
+     * The log all writes are appended to
+     */
+    private final ConfigJournal journal;
+    /**
+     * If every record should be forced to disk immediately
+     */
+    private boolean flushOnWrite = false;
+    /**
+     * The separator between the keys of a path
+     */
+    private volatile char pathSeparator = '.';
+
+    /**
+     * Creates a new key value config, the file is created inside the plugin data folder if it does not exist yet.
+     *
+     * @param plugin plugin instance
+     * @param path   path of the log file (relative to the plugin data folder)
+     */
+    public KeyValueConfig(@NotNull JavaPlugin plugin, @NotNull Path path) {
+        this(ConfigHost.of(plugin), path);
+    }
+
+    /**
+     * Creates a new key value config, the file is created inside the data folder of the host if it does not exist yet.
+     *
+     * @param host the host providing the data folder and logger
+     * @param path path of the log file (relative to the data folder of the host)
+     */
+    public KeyValueConfig(@NotNull ConfigHost host, @NotNull Path path) {
+        this.HOST = host;
+        this.LOGGER = host.getLogger();
+        this.NAME = path.getFileName().toString();
+        this.DESTINATION_PATH = path.startsWith(host.getDataFolder().toString()) ? path : Path.of(host.getDataFolder().toString(), path.toString());
+        this.FILE = DESTINATION_PATH.toFile();
+        this.journal = new ConfigJournal(DESTINATION_PATH, LOGGER);
+    }
+
+    /**
+     * Creates a new key value config, the file is created inside the plugin data folder if it does not exist yet.
+     *
+     * @param plugin plugin instance
+     * @param name   name of the log file
+     */
+    public KeyValueConfig(@NotNull JavaPlugin plugin, @NotNull String name) {
+        this(plugin, Path.of(name));
+    }
+
+    /**
+     * Creates a new key value config, the file is created inside the data folder of the host if it does not exist yet.
+     *
+     * @param host the host providing the data folder and logger
+     * @param name name of the log file
+     */
+    public KeyValueConfig(@NotNull ConfigHost host, @NotNull String name) {
+        this(host, Path.of(name));
+    }
+
+    /**
+     * Copies all values of another config into this one and compacts the log, used to migrate existing yml files
+     *
+     * <p>Example:
+     * <pre>
+     *     {@code ConfigYML yml = new ConfigYML(plugin, "players.yml");}
+     *     {@code yml.silentLoad();}
+     *     {@code keyValueConfig.importFrom(yml);}
+     * </pre>
+     *
+     * @param source the loaded config to copy the values from
+     */
+    public void importFrom(@NotNull Config source) {
+        synchronized (LOCK) {
+            source.forEach("", true, (path, value) -> {
+                set(path, value);
+                return true;
+            });
+            compact();
+        }
+    }
+
+    //------------------------------------------ log file ------------------------------------------
+
+    /**
+     * Applies a write to the in memory values, setting a path replaces all values below it and all values above it
+     */
+    private void apply(String path, @Nullable Object value) {
+        if (sectionSizes.containsKey(path)) {
+            List<String> children = new ArrayList<>(below(values, path + pathSeparator).keySet());
+            children.forEach(this::removeValue);
+        }
+
+        int separator = path.lastIndexOf(pathSeparator);
+        while (separator > 0) {
+            String parent = path.substring(0, separator);
+            if (values.containsKey(parent)) {
+                removeValue(parent);
+            }
+            separator = parent.lastIndexOf(pathSeparator);
+        }
+
+        if (value == null) {
+            removeValue(path);
+        } else if (values.put(path, value) == null) {
+            forEachParent(path, parent -> sectionSizes.merge(parent, 1, Integer::sum));
+        }
+    }
+
+    private void removeValue(String path) {
+        if (values.remove(path) != null) {
+            forEachParent(path, parent -> sectionSizes.computeIfPresent(parent, (key, size) -> size == 1 ? null : size - 1));
+        }
+    }
+
+    private void forEachParent(String path, Consumer<String> action) {
+        int separator = path.indexOf(pathSeparator);
+        while (separator > 0) {
+            action.accept(path.substring(0, separator));
+            separator = path.indexOf(pathSeparator, separator + 1);
+        }
+    }
+
+    /**
+     * Gets the entries of a sorted map below a section, all keys starting with the prefix of the section are one contiguous range
+     *
+     * @param map    the map sorted by path
+     * @param prefix the path of the section followed by the separator, empty for the root
+     * @return a view of all entries below the section
+     */
+    private static <V> NavigableMap<String, V> below(ConcurrentNavigableMap<String, V> map, String prefix) {
+        if (prefix.isEmpty()) {
+            return map;
+        }
+        int last = prefix.length() - 1;
+        return map.subMap(prefix, true, prefix.substring(0, last) + (char) (prefix.charAt(last) + 1), false);
+    }
+
+    private String prefix(@Nullable String path) {
+        return path == null || path.isBlank() ? "" : path + pathSeparator;
+    }
+
+    private void append(String path, @Nullable Object value) {
+        try {
+            journal.append(path, value);
+            if (flushOnWrite) {
+                journal.commit();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error writing data to " + NAME + "!");
+            LOGGER.log(Level.SEVERE, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Replays the log file into the in memory values
+     */
+    private void readLog() throws IOException {
+        values.clear();
+        sectionSizes.clear();
+        if (!FILE.exists()) {
+            FILE.getParentFile().mkdirs();
+        }
+        journal.replay(this::apply);
+    }
+
+    /**
+     * Rewrites the log so it only contains one record per value
+     */
+    public void compact() {
+        synchronized (LOCK) {
+            try {
+                journal.rewrite(values);
+            } catch (IOException e) {
+                LOGGER.log(Level.WARNING, "Error compacting data of " + NAME + "!");
+                LOGGER.log(Level.SEVERE, e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Forces all appended records to disk, compacts the log if it contains a lot more records than values
+     */
+    private void flush() throws IOException {
+        synchronized (LOCK) {
+            int recordCount = journal.getRecordCount();
+            if (recordCount >= MIN_COMPACTION_RECORDS && recordCount > values.size() * 2) {
+                compact();
+                return;
+            }
+            journal.commit();
+        }
+    }
+
+    /**
+     * @param flushOnWrite true to force every record to disk immediately instead of buffering it until {@link #save()} (default: false),
+     *                     every write then waits for the disk
+     */
+    public void setFlushOnWrite(boolean flushOnWrite) {
+        this.flushOnWrite = flushOnWrite;
+    }
+
+    /**
+     * Forces buffered records to disk periodically, so a crash loses at most the writes of one interval without every write waiting for the disk
+     *
+     * @param interval the interval between commits or 0 to only commit on {@link #save()} (default: 0)
+     * @param unit     the unit of the interval
+     */
+    public void setCommitInterval(long interval, @NotNull TimeUnit unit) {
+        journal.setCommitInterval(interval, unit);
+    }
+
+    /**
+     * Sets the separator between the keys of a path, has to be set before the config is loaded
+     *
+     * @param pathSeparator the path separator (default: '.')
+     * @throws IllegalStateException if the config already holds values
+     */
+    public void setPathSeparator(char pathSeparator) {
+        synchronized (LOCK) {
+            if (!values.isEmpty()) {
+                throw new IllegalStateException("The path separator of " + NAME + " has to be set before it is loaded!");
+            }
+            this.pathSeparator = pathSeparator;
+        }
+    }
+
+    /**
+     * @return the separator between the keys of a path
+     */
+    public char getPathSeparator() {
+        return pathSeparator;
+    }
+
+    //------------------------------------------ config ------------------------------------------
+
+    /**
+     * Gets the raw value at a path
+     *
+     * @param path the full path
+     * @return the value or null if the path has no value
+     */
+    public @Nullable Object get(@NotNull String path) {
+        return values.get(path);
+    }
+
+    @Override
+    public @Nullable String getString(@NotNull String path) {
+        Object value = values.get(path);
+        return value == null ? null : value.toString();
+    }
+
+    @Override
+    public int getInt(@NotNull String path) {
+        return values.get(path) instanceof Number number ? number.intValue() : 0;
+    }
+
+    @Override
+    public double getDouble(@NotNull String path) {
+        return values.get(path) instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    @Override
+    public long getLong(@NotNull String path) {
+        return values.get(path) instanceof Number number ? number.longValue() : 0;
+    }
+
+    @Override
+    public boolean getBoolean(@NotNull String path) {
+        return values.get(path) instanceof Boolean bool && bool;
+    }
+
+    @Override
+    public List<String> getStringList(@NotNull String path) {
+        return getList(path, value -> value instanceof String || value instanceof Number || value instanceof Boolean || value instanceof Character ? value.toString() : null);
+    }
+
+    @Override
+    public List<Integer> getIntegerList(@NotNull String path) {
+        return getList(path, value -> value instanceof Number number ? number.intValue() : null);
+    }
+
+    @Override
+    public List<Double> getDoubleList(@NotNull String path) {
+        return getList(path, value -> value instanceof Number number ? number.doubleValue() : null);
+    }
+
+    @Override
+    public List<Character> getCharacterList(@NotNull String path) {
+        return getList(path, value -> value instanceof Character character ? character : value instanceof String string && string.length() == 1 ? string.charAt(0) : null);
+    }
+
+    @Override
+    public List<Long> getLongList(@NotNull String path) {
+        return getList(path, value -> value instanceof Number number ? number.longValue() : null);
+    }
+
+    @Override
+    public List<Boolean> getBooleanList(@NotNull String path) {
+        return getList(path, value -> value instanceof Boolean bool ? bool : null);
+    }
+
+    @Override
+    public List<Map<?, ?>> getMapList(@NotNull String path) {
+        return getList(path, value -> value instanceof Map<?, ?> map ? map : null);
+    }
+
+    /**
+     * Converts each element of a list value, elements that can not be converted are skipped
+     */
+    private <T> List<T> getList(String path, Function<Object, T> converter) {
+        List<T> result = new ArrayList<>();
+        if (values.get(path) instanceof List<?> list) {
+            for (Object element : list) {
+                T converted = element == null ? null : converter.apply(element);
+                if (converted != null) {
+                    result.add(converted);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public <T> T getObject(@NotNull String path, @NotNull Class<T> clazz) {
+        Object value = values.get(path);
+        return clazz.isInstance(value) ? clazz.cast(value) : null;
+    }
+
+    @Override
+    public Location getLocation(@NotNull String path) {
+        return getObject(path, Location.class);
+    }
+
+    @Override
+    public ItemStack getItemStack(@NotNull String path) {
+        return getObject(path, ItemStack.class);
+    }
+
+    @Override
+    public Color getColor(@NotNull String path) {
+        return getObject(path, Color.class);
+    }
+
+    @Override
+    public OfflinePlayer getOfflinePlayer(@NotNull String path) {
+        return getObject(path, OfflinePlayer.class);
+    }
+
+    /**
+     * Gets the keys of a section, sections only exist implicitly by the paths of their values
+     *
+     * @param path path of the section, blank for the root
+     * @param deep deep search to get children of children
+     * @return {@link Set} of results.
+     */
+    @Override
+    public Set<String> getKeys(String path, boolean deep) {
+        String prefix = prefix(path);
+        char pathSeparator = this.pathSeparator;
+        Set<String> result = new LinkedHashSet<>();
+        for (String key : below(values, prefix).keySet()) {
+            String relative = key.substring(prefix.length());
+            int separator = relative.indexOf(pathSeparator);
+            if (!deep) {
+                result.add(separator < 0 ? relative : relative.substring(0, separator));
+                continue;
+            }
+            while (separator >= 0) {
+                result.add(relative.substring(0, separator));
+                separator = relative.indexOf(pathSeparator, separator + 1);
+            }
+            result.add(relative);
+        }
+        return result;
+    }
+
+    /**
+     * Gets the values directly inside a section, child sections are not included
+     *
+     * @param path path of the section, blank for the root
+     * @param <T>  type of the map
+     * @return {@link Map} of results.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Map<String, T> getEntries(@NotNull String path) {
+        String prefix = prefix(path);
+        Map<String, T> result = new LinkedHashMap<>();
+        for (var entry : below(values, prefix).entrySet()) {
+            String key = entry.getKey();
+            if (key.indexOf(pathSeparator, prefix.length()) < 0) {
+                result.put(key.substring(prefix.length()), (T) entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Walks all values of a section, sections are passed to {@link ConfigVisitor#visitSection(String)} before any value.
+     * Sections and values are each visited sorted by their path and not in the order they were written.
+     */
+    @Override
+    public boolean forEach(String path, boolean deep, @NotNull ConfigVisitor visitor) {
+        String prefix = prefix(path);
+        char pathSeparator = this.pathSeparator;
+        for (String section : below(sectionSizes, prefix).keySet()) {
+            if (!deep && section.indexOf(pathSeparator, prefix.length()) >= 0) {
+                continue;
+            }
+            if (!visitor.visitSection(section.substring(prefix.length()))) {
+                return false;
+            }
+        }
+        for (var entry : below(values, prefix).entrySet()) {
+            String key = entry.getKey();
+            if (!deep && key.indexOf(pathSeparator, prefix.length()) >= 0) {
+                continue;
+            }
+            if (!visitor.visit(key.substring(prefix.length()), entry.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Stream<Map.Entry<String, Object>> stream(String path, boolean deep) {
+        String prefix = prefix(path);
+        char pathSeparator = this.pathSeparator;
+        return below(values, prefix).entrySet().stream()
+                .filter(entry -> deep || entry.getKey().indexOf(pathSeparator, prefix.length()) < 0)
+                .map(entry -> Map.entry(entry.getKey().substring(prefix.length()), entry.getValue()));
+    }
+
+    @Override
+    public boolean contains(@NotNull String path) {
+        return values.containsKey(path) || sectionSizes.containsKey(path);
+    }
+
+    /**
+     * Sets a value and appends it to the log, setting a path replaces all values below it
+     *
+     * @param path  Path to put
+     * @param value Value to set or null to remove the path
+     */
+    @Override
+    public void set(@NotNull String path, Object value) {
+        synchronized (LOCK) {
+            apply(path, value);
+            append(path, value);
+        }
+    }
+
+    @Override
+    public void load() {
+        if (loadLog()) {
+            LOGGER.log(Level.INFO, "Loaded data from " + NAME + "!");
+        }
+    }
+
+    @Override
+    public void silentLoad() {
+        loadLog();
+    }
+
+    private boolean loadLog() {
+        synchronized (LOCK) {
+            try {
+                readLog();
+                return true;
+            } catch (IOException e) {
+                LOGGER.log(Level.SEVERE, e.getMessage());
+                LOGGER.log(Level.WARNING, "Error loading data from " + NAME + "!");
+                return false;
+            }
+        }
+    }
+
+    @Override
+    public void save() {
+        try {
+            flush();
+            LOGGER.log(Level.INFO, "Saved data to " + NAME + "!");
+        } catch (IOException e) {
+            LOGGER.log(Level.SEVERE, e.getMessage());
+            LOGGER.log(Level.WARNING, "Error saving data to " + NAME + "!");
+        }
+    }
+
+    @Override
+    public void silentSave() {
+        try {
+            flush();
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Error saving data to " + NAME + "!");
+            LOGGER.log(Level.SEVERE, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return the amount of values stored
+     */
+    public int size() {
+        return values.size();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String path() {
+        return DESTINATION_PATH.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("KeyValueConfig[path=%s,name=%s,values=%d]", DESTINATION_PATH.toString(), NAME, values.size());
+    }
+}
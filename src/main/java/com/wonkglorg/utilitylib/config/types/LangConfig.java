@@ -1,12 +1,22 @@
 package com.wonkglorg.utilitylib.config.types;
 
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.lang.CompactLangTable;
+import com.wonkglorg.utilitylib.config.lang.MessageTemplate;
+import com.wonkglorg.utilitylib.config.schema.TypedValue;
 import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.io.IOException;
 import java.nio.file.Path;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
@@ -34,6 +44,27 @@ public class LangConfig extends ConfigYML {
      * Map of placeholders and their values to replace them by
      */
     private final Map<String, String> replacerMap = new ConcurrentHashMap<>();
+    /**
+     * The compiled templates and fallback values for each global replacement map (one per {@link com.wonkglorg.utilitylib.config.LangManager}
+     * using this file), the templates are cleared whenever the lang file or its placeholders change
+     */
+    private final Map<Map<String, String>, TemplateCache> templateCaches = Collections.synchronizedMap(new IdentityHashMap<>());
+    /**
+     * The most recently used template cache, avoids the lookup in {@link #templateCaches} while only one manager uses this file
+     */
+    private volatile TemplateCache lastTemplateCache;
+    /**
+     * Map of lang keys missing in this file and the values to use instead for every manager without its own fallback values
+     */
+    private final Map<String, String> fallbackValues = new ConcurrentHashMap<>();
+    /**
+     * If the lang file should be stored as a {@link CompactLangTable} after loading instead of the section tree
+     */
+    private boolean compact = false;
+    /**
+     * The compact representation of this lang file, null if the section tree is used
+     */
+    private volatile CompactLangTable compactTable;
 
     /**
      * Constructor for the LangConfig class
@@ -66,9 +97,39 @@ public class LangConfig extends ConfigYML {
         super(plugin, path);
     }
 
+    /**
+     * Constructor for the LangConfig class
+     *
+     * @param host            the host providing the data folder and resources
+     * @param sourcePath      the path to the source file
+     * @param destinationPath the path to the destination file
+     */
+    public LangConfig(@NotNull ConfigHost host, @NotNull Path sourcePath, @NotNull Path destinationPath) {
+        super(host, sourcePath, destinationPath);
+    }
+
+    /**
+     * Constructor for the LangConfig class
+     *
+     * @param host the host providing the data folder and resources
+     * @param name the name of the file used to determine the path to copy the file from/to
+     */
+    public LangConfig(@NotNull ConfigHost host, @NotNull String name) {
+        super(host, name);
+    }
+
+    /**
+     * Constructor for the LangConfig class
+     *
+     * @param host the host providing the data folder and resources
+     * @param path the path to the file both for input and output (relative to the data folder of the host)
+     */
+    public LangConfig(@NotNull ConfigHost host, @NotNull Path path) {
+        super(host, path);
+    }
+
     @Override
     public void load() {
-        setUpdateRequest(true);
         checkFile();
         try {
             load(FILE);
@@ -80,7 +141,6 @@ public class LangConfig extends ConfigYML {
     }
 
     public void silentLoad() {
-        setUpdateRequest(true);
         checkFile();
         try {
             load(FILE);
@@ -91,16 +151,308 @@ public class LangConfig extends ConfigYML {
     }
 
     public void updateReplacerMap() {
-        if (this.isSet(this.getPlaceholderPath())) {
-            String path = this.getPlaceholderPath();
-            for (Map.Entry<String, Object> entry : getEntries(path).entrySet()) {
-                String placeholderValue = entry.getValue().toString();
-                String searchKey = placeholderChar + entry.getKey() + placeholderChar;
-                replacerMap.put(searchKey, placeholderValue);
-            }
+        for (Map.Entry<String, Object> entry : getEntries(getPlaceholderPath()).entrySet()) {
+            String placeholderValue = entry.getValue().toString();
+            String searchKey = placeholderChar + entry.getKey() + placeholderChar;
+            replacerMap.put(searchKey, placeholderValue);
         }
 
         setUpdateRequest(false);
+        invalidateTemplates();
+    }
+
+    /**
+     * Sets a value, in compact mode the table is expanded back to a section tree first.
+     * Writes replayed by a load go to the new tree and leave the current table alone, the new tree is compacted once the load completes.
+     */
+    @Override
+    public void set(@NotNull String path, @Nullable Object value) {
+        synchronized (LOCK) {
+            if (compactTable != null && !isLoading()) {
+                expandTree();
+            }
+            super.set(path, value);
+        }
+        invalidateTemplates();
+    }
+
+    /**
+     * In compact mode the new tree is compacted before it replaces the current table, so readers switch from the old to the new values at once.
+     * Templates and placeholders are invalidated once the new values are published, so no template is compiled from the old values afterwards.
+     */
+    @Override
+    protected void swapTree(@NotNull YamlConfiguration next, @NotNull Map<String, TypedValue> typedValues) {
+        if (!compact) {
+            super.swapTree(next, typedValues);
+            compactTable = null;
+        } else {
+            compactTable = CompactLangTable.of(next);
+            YamlConfiguration empty = newTree();
+            empty.options().setHeader(next.options().getHeader());
+            empty.options().setFooter(next.options().getFooter());
+            super.swapTree(empty, typedValues);
+        }
+        setUpdateRequest(true);
+        invalidateTemplates();
+    }
+
+    @Override
+    protected void applyBatch(@NotNull Map<String, Object> entries) {
+        synchronized (LOCK) {
+            if (compactTable != null) {
+                expandTree();
+            }
+            super.applyBatch(entries);
+        }
+        invalidateTemplates();
+    }
+
+    @Override
+    public @Nullable Object get(@NotNull String path, @Nullable Object def) {
+        CompactLangTable table = compactTable;
+        if (table == null || path.isEmpty()) {
+            return super.get(path, def);
+        }
+        Object value = table.get(path);
+        return value == null ? def : value;
+    }
+
+    @Override
+    public @NotNull Set<String> getKeys(boolean deep) {
+        CompactLangTable table = compactTable;
+        return table == null ? super.getKeys(deep) : table.getKeys(null, deep);
+    }
+
+    @Override
+    public Set<String> getKeys(String path, boolean deep) {
+        CompactLangTable table = compactTable;
+        return table == null ? super.getKeys(path, deep) : table.getKeys(path, deep);
+    }
+
+    @Override
+    public @NotNull Map<String, Object> getValues(boolean deep) {
+        CompactLangTable table = compactTable;
+        return table == null ? super.getValues(deep) : table.getValues(null, deep);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> Map<String, T> getEntries(@NotNull String path) {
+        CompactLangTable table = compactTable;
+        return table == null ? super.getEntries(path) : (Map<String, T>) table.getValues(path, false);
+    }
+
+    @Override
+    public boolean forEach(String path, boolean deep, @NotNull ConfigVisitor visitor) {
+        CompactLangTable table = compactTable;
+        return table == null ? super.forEach(path, deep, visitor) : table.forEach(path, deep, visitor::visit, visitor::visitSection);
+    }
+
+    @Override
+    public Stream<Map.Entry<String, Object>> stream(String path, boolean deep) {
+        CompactLangTable table = compactTable;
+        return table == null ? super.stream(path, deep) : table.stream(path, deep);
+    }
+
+    @Override
+    public @NotNull String saveToString() {
+        CompactLangTable table = compactTable;
+        if (table == null) {
+            return super.saveToString();
+        }
+        return expandedTree(table).saveToString();
+    }
+
+    /**
+     * Creates a section tree of all values of a compact table, the header and footer of this file are kept
+     *
+     * @param table the table to expand
+     * @return the created tree
+     */
+    private YamlConfiguration expandedTree(CompactLangTable table) {
+        YamlConfiguration expanded = newTree();
+        expanded.options().setHeader(options().getHeader());
+        expanded.options().setFooter(options().getFooter());
+        table.forEach(null, true, (path, value) -> {
+            expanded.set(path, value);
+            return true;
+        });
+        return expanded;
+    }
+
+    /**
+     * Enables or disables the compact storage mode, in compact mode the section tree is replaced by a {@link CompactLangTable} after every load.
+     * <br>
+     * This greatly reduces the memory used by large lang files but sections can no longer be retrieved as {@link org.bukkit.configuration.ConfigurationSection}
+     * (use {@link #getKeys(String, boolean)} and {@link #getEntries(String)} instead) and comments are lost when the file gets saved.
+     * Setting a value converts the file back to the section tree until the next load.
+     *
+     * @param compact true to store the lang file in the compact representation
+     */
+    public void setCompact(boolean compact) {
+        this.compact = compact;
+        if (compact && compactTable == null && !getKeys(false).isEmpty()) {
+            compactTree();
+        } else if (!compact && compactTable != null) {
+            expandTree();
+        }
+    }
+
+    /**
+     * @return true if the compact storage mode is enabled
+     */
+    public boolean isCompact() {
+        return compact;
+    }
+
+    /**
+     * Replaces the section tree by its compact representation, does nothing while a load is replaying into the new tree
+     * (the new tree is compacted once the load completes)
+     */
+    private void compactTree() {
+        synchronized (LOCK) {
+            if (isLoading()) {
+                return;
+            }
+            updateReplacerMap();
+            compactTable = CompactLangTable.of(this);
+            super.swapTree(newTree(), getTypedValues());
+        }
+    }
+
+    /**
+     * Restores the section tree from the compact representation, does nothing while a load is replaying into the new tree
+     * (the current table is replaced by the load anyway)
+     */
+    private void expandTree() {
+        synchronized (LOCK) {
+            CompactLangTable table = compactTable;
+            if (table == null || isLoading()) {
+                return;
+            }
+            super.swapTree(expandedTree(table), getTypedValues());
+            compactTable = null;
+        }
+    }
+
+    /**
+     * Gets the compiled template of a lang key, the template gets created on first request with all static replacements applied
+     * (first the global replacements then the placeholders of this lang file)
+     *
+     * @param key                the key to get the template for
+     * @param globalReplacements the replacements to apply before the placeholders of this file
+     * @return the compiled template or null if the key does not exist
+     */
+    public @Nullable MessageTemplate getTemplate(@NotNull String key, @NotNull Map<String, String> globalReplacements) {
+        TemplateCache templateCache = getTemplateCache(globalReplacements);
+        MessageTemplate template = templateCache.templates.get(key);
+        if (template != null) {
+            return template;
+        }
+        //the placeholders are updated first, updating them invalidates the templates and must not happen while one is compiled
+        Map<String, String> placeholders = getReplacerMap();
+        //compiled inside the cache so a concurrent invalidation either waits for the template or removes it afterwards
+        return templateCache.templates.computeIfAbsent(key, k -> compileTemplate(k, templateCache, placeholders));
+    }
+
+    private @Nullable MessageTemplate compileTemplate(String key, TemplateCache templateCache, Map<String, String> placeholders) {
+        String value = getString(key);
+        if (value == null) {
+            Map<String, String> managerFallbacks = templateCache.fallbackValues;
+            value = managerFallbacks != null ? managerFallbacks.get(key) : fallbackValues.get(key);
+        }
+        if (value == null) {
+            return null;
+        }
+
+        for (var mapValue : templateCache.globalReplacements.entrySet()) {
+            value = value.replace(mapValue.getKey(), mapValue.getValue());
+        }
+
+        for (var mapValue : placeholders.entrySet()) {
+            value = value.replace(mapValue.getKey(), mapValue.getValue());
+        }
+
+        return MessageTemplate.compile(value, placeholderChar);
+    }
+
+    /**
+     * Gets the template cache of a global replacement map
+     *
+     * @param globalReplacements the global replacements the templates are created with
+     * @return the template cache
+     */
+    private TemplateCache getTemplateCache(Map<String, String> globalReplacements) {
+        TemplateCache last = lastTemplateCache;
+        if (last != null && last.globalReplacements == globalReplacements) {
+            return last;
+        }
+        TemplateCache templateCache = templateCaches.computeIfAbsent(globalReplacements, TemplateCache::new);
+        lastTemplateCache = templateCache;
+        return templateCache;
+    }
+
+    /**
+     * Removes the templates and fallback values of a global replacement map, called by a manager that stops using this file
+     *
+     * @param globalReplacements the global replacements the templates were created with
+     */
+    public void releaseTemplates(@NotNull Map<String, String> globalReplacements) {
+        templateCaches.remove(globalReplacements);
+        TemplateCache last = lastTemplateCache;
+        if (last != null && last.globalReplacements == globalReplacements) {
+            lastTemplateCache = null;
+        }
+    }
+
+    /**
+     * Sets the values to use for keys missing in this lang file for every manager without its own fallback values,
+     * replaces all previously set fallback values
+     *
+     * @param fallbackValues the keys and their fallback values
+     */
+    public void setFallbackValues(@NotNull Map<String, String> fallbackValues) {
+        this.fallbackValues.clear();
+        this.fallbackValues.putAll(fallbackValues);
+        invalidateTemplates();
+    }
+
+    /**
+     * Sets the values to use for keys missing in this lang file for a single manager, so managers sharing this file
+     * can fill it from different default languages. Replaces all fallback values previously set for the manager.
+     *
+     * @param globalReplacements the global replacements of the manager
+     * @param fallbackValues     the keys and their fallback values
+     */
+    public void setFallbackValues(@NotNull Map<String, String> globalReplacements, @NotNull Map<String, String> fallbackValues) {
+        TemplateCache templateCache = getTemplateCache(globalReplacements);
+        templateCache.fallbackValues = Map.copyOf(fallbackValues);
+        templateCache.templates.clear();
+    }
+
+    /**
+     * @return the keys missing in this lang file and the values used instead by managers without their own fallback values
+     */
+    public Map<String, String> getFallbackValues() {
+        return fallbackValues;
+    }
+
+    /**
+     * @param globalReplacements the global replacements of the manager
+     * @return the keys missing in this lang file and the values used instead for the manager
+     */
+    public Map<String, String> getFallbackValues(@NotNull Map<String, String> globalReplacements) {
+        Map<String, String> managerFallbacks = getTemplateCache(globalReplacements).fallbackValues;
+        return managerFallbacks != null ? managerFallbacks : fallbackValues;
+    }
+
+    /**
+     * Clears all compiled templates so they get recreated on the next request
+     */
+    public void invalidateTemplates() {
+        synchronized (templateCaches) {
+            templateCaches.values().forEach(templateCache -> templateCache.templates.clear());
+        }
     }
 
     /**
@@ -148,5 +500,22 @@ public class LangConfig extends ConfigYML {
      */
     public void setPlaceholderChar(char placeholderChar) {
         this.placeholderChar = placeholderChar;
+        invalidateTemplates();
+    }
+
+    /**
+     * The compiled templates and fallback values of a single global replacement map
+     */
+    private static final class TemplateCache {
+        private final Map<String, String> globalReplacements;
+        private final Map<String, MessageTemplate> templates = new ConcurrentHashMap<>();
+        /**
+         * The fallback values set for this global replacement map, null to use the fallback values of the file
+         */
+        private volatile Map<String, String> fallbackValues;
+
+        private TemplateCache(Map<String, String> globalReplacements) {
+            this.globalReplacements = globalReplacements;
+        }
     }
-}
\ No newline at end of file
+}
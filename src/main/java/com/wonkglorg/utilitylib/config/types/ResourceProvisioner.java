@@ -0,0 +1,113 @@
+package com.wonkglorg.utilitylib.config.types;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates the files of many configs at once, all missing default resources are extracted in a single pass over the plugin jar
+ * instead of one resource lookup per config. Provisioned configs no longer check the file system on load and save.
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings({"unused", "ResultOfMethodCallIgnored"})
+public final class ResourceProvisioner {
+    private ResourceProvisioner() {
+        //utility class
+    }
+
+    /**
+     * Makes sure the file of every {@link ConfigYML} exists, missing files are copied from the jar of the host or created empty if the jar does not contain them
+     *
+     * @param host    the host whose jar contains the default resources
+     * @param configs the configs to provision, configs that are not a {@link ConfigYML} or already provisioned are skipped
+     * @return the amount of files created
+     */
+    public static int provision(@NotNull ConfigHost host, @NotNull Collection<? extends Config> configs) {
+        Logger logger = host.getLogger();
+        //keyed by destination, configs with different destinations can share the same default resource
+        Map<File, ConfigYML> missing = new HashMap<>();
+        for (Config config : configs) {
+            if (!(config instanceof ConfigYML yml) || yml.isProvisioned()) {
+                continue;
+            }
+            if (yml.FILE.exists()) {
+                yml.markProvisioned();
+            } else {
+                missing.putIfAbsent(yml.FILE.getAbsoluteFile(), yml);
+            }
+        }
+        if (missing.isEmpty()) {
+            return 0;
+        }
+
+        Set<File> directories = new HashSet<>();
+        Map<String, List<ConfigYML>> byResource = new HashMap<>();
+        for (ConfigYML config : missing.values()) {
+            if (directories.add(config.FILE.getParentFile())) {
+                config.FILE.getParentFile().mkdirs();
+            }
+            byResource.computeIfAbsent(config.RESOURCE_NAME, k -> new ArrayList<>()).add(config);
+        }
+
+        File jar = host.getSourceJar();
+        if (jar == null) {
+            //not running from a jar, fall back to single resource lookups
+            missing.values().forEach(ConfigYML::checkFile);
+            return missing.size();
+        }
+
+        int created = 0;
+        try (JarFile jarFile = new JarFile(jar)) {
+            var entries = jarFile.entries();
+            while (entries.hasMoreElements() && !byResource.isEmpty()) {
+                JarEntry entry = entries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                List<ConfigYML> resourceConfigs = byResource.remove(entry.getName());
+                if (resourceConfigs == null) {
+                    continue;
+                }
+                for (ConfigYML config : resourceConfigs) {
+                    try (InputStream inputStream = jarFile.getInputStream(entry)) {
+                        Files.copy(inputStream, config.DESTINATION_PATH);
+                        config.markProvisioned();
+                        created++;
+                    } catch (IOException e) {
+                        logger.log(Level.SEVERE, "Error Copying data from " + entry.getName() + " to destination " + config.DESTINATION_PATH);
+                        logger.log(Level.SEVERE, e.getMessage(), e);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.log(Level.SEVERE, "Error reading plugin jar " + jar, e);
+            byResource.values().forEach(resourceConfigs -> resourceConfigs.forEach(ConfigYML::checkFile));
+            return created + (int) byResource.values().stream().mapToLong(List::size).sum();
+        }
+
+        for (List<ConfigYML> resourceConfigs : byResource.values()) {
+            for (ConfigYML config : resourceConfigs) {
+                config.createEmptyFile();
+                config.markProvisioned();
+                created++;
+            }
+        }
+        return created;
+    }
+}
@@ -0,0 +1,448 @@
+package com.wonkglorg.utilitylib.config.types;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import org.bukkit.Color;
+import org.bukkit.Location;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * A yml config split into multiple files, each top level key is stored in exactly one shard file chosen by a hash of the key or a custom shard function.
+ * <br>
+ * Shards are only loaded once a key inside of them is accessed and saving only writes shards that changed since they were last loaded or saved,
+ * so the cost of a save depends on the amount of changed shards and not on the size of the whole config.
+ * Shard files are only created once a shard is saved, reading a key of a shard without a file returns no value without touching the disk.
+ *
+ * <p>Example: 16 shards stored as plugins/MyPlugin/homes/shard-0.yml ... shard-15.yml
+ * <pre>
+ *     {@code new ShardedConfigYML(plugin, Path.of("homes"), 16);}
+ * </pre>
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public class ShardedConfigYML implements Config {
+    protected final ConfigHost HOST;
+    protected final String NAME;
+    protected final Path DIRECTORY;
+    /**
+     * The directory relative to the data folder, used to look up default resources of the shards
+     */
+    protected final Path SOURCE_DIRECTORY;
+    protected final Logger LOGGER;
+    /**
+     * Maps a top level key to the name of its shard file (without extension)
+     */
+    private final Function<String, String> shardFunction;
+    /**
+     * The fixed shard count when hash based sharding is used, -1 for a custom shard function
+     */
+    private final int shardCount;
+    /**
+     * All shards loaded so far by their name
+     */
+    private final Map<String, ConfigYML> shards = new ConcurrentHashMap<>();
+    /**
+     * If every shard file in the directory has been loaded
+     */
+    private volatile boolean allLoaded = false;
+    /**
+     * The path separator of all shards, the part of a path before the first separator decides the shard
+     */
+    private volatile char pathSeparator = '.';
+
+    /**
+     * Creates a sharded config which distributes its top level keys by their hash
+     *
+     * @param plugin     plugin instance
+     * @param directory  the directory the shard files are stored in (relative to the plugin data folder)
+     * @param shardCount the amount of shard files
+     */
+    public ShardedConfigYML(@NotNull JavaPlugin plugin, @NotNull Path directory, int shardCount) {
+        this(ConfigHost.of(plugin), directory, shardCount);
+    }
+
+    /**
+     * Creates a sharded config which distributes its top level keys by their hash
+     *
+     * @param host       the host providing the data folder and logger
+     * @param directory  the directory the shard files are stored in (relative to the data folder of the host)
+     * @param shardCount the amount of shard files
+     */
+    public ShardedConfigYML(@NotNull ConfigHost host, @NotNull Path directory, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive!");
+        }
+        this.HOST = host;
+        this.LOGGER = host.getLogger();
+        this.NAME = directory.getFileName().toString();
+        this.DIRECTORY = directory.startsWith(host.getDataFolder().toString()) ? directory : Path.of(host.getDataFolder().toString(), directory.toString());
+        this.SOURCE_DIRECTORY = relativeToDataFolder(host, directory);
+        this.shardCount = shardCount;
+        this.shardFunction = key -> "shard-" + Math.floorMod(key.hashCode(), shardCount);
+    }
+
+    /**
+     * Creates a sharded config which distributes its top level keys by a custom function, for example by the first character of the key
+     *
+     * @param plugin        plugin instance
+     * @param directory     the directory the shard files are stored in (relative to the plugin data folder)
+     * @param shardFunction maps a top level key to the name of its shard file (without extension), must always return the same name for the same key
+     */
+    public ShardedConfigYML(@NotNull JavaPlugin plugin, @NotNull Path directory, @NotNull Function<String, String> shardFunction) {
+        this(ConfigHost.of(plugin), directory, shardFunction);
+    }
+
+    /**
+     * Creates a sharded config which distributes its top level keys by a custom function, for example by the first character of the key
+     *
+     * @param host          the host providing the data folder and logger
+     * @param directory     the directory the shard files are stored in (relative to the data folder of the host)
+     * @param shardFunction maps a top level key to the name of its shard file (without extension), must always return the same name for the same key
+     */
+    public ShardedConfigYML(@NotNull ConfigHost host, @NotNull Path directory, @NotNull Function<String, String> shardFunction) {
+        this.HOST = host;
+        this.LOGGER = host.getLogger();
+        this.NAME = directory.getFileName().toString();
+        this.DIRECTORY = directory.startsWith(host.getDataFolder().toString()) ? directory : Path.of(host.getDataFolder().toString(), directory.toString());
+        this.SOURCE_DIRECTORY = relativeToDataFolder(host, directory);
+        this.shardCount = -1;
+        this.shardFunction = shardFunction;
+    }
+
+    /**
+     * Gets the shard responsible for a path, loading it if needed
+     *
+     * @param path the full path
+     * @return the shard of the top level key of the path
+     */
+    protected ConfigYML getShard(@NotNull String path) {
+        int separator = path.indexOf(pathSeparator);
+        String topKey = separator < 0 ? path : path.substring(0, separator);
+        return getShardByName(shardFunction.apply(topKey));
+    }
+
+    private static Path relativeToDataFolder(ConfigHost host, Path directory) {
+        Path dataFolder = host.getDataFolder().toPath();
+        return directory.startsWith(dataFolder) ? dataFolder.relativize(directory) : directory;
+    }
+
+    /**
+     * Gets a shard by its name, the shard file is read outside of the shard map so lookups of other shards are never blocked by disk access.
+     * If two threads load the same shard at once the first one to finish is kept.
+     *
+     * @param shardName the name of the shard
+     * @return the shard
+     */
+    private ConfigYML getShardByName(String shardName) {
+        ConfigYML shard = shards.get(shardName);
+        if (shard != null) {
+            return shard;
+        }
+        ConfigYML loaded = new ConfigYML(HOST, SOURCE_DIRECTORY.resolve(shardName + ".yml"), DIRECTORY.resolve(shardName + ".yml"));
+        loaded.options().pathSeparator(pathSeparator);
+        if (loaded.FILE.exists()) {
+            loaded.silentLoad();
+        } else if (pathSeparator != '.') {
+            //the empty tree of a new shard has to use the separator as well, the shard file is still only created on save
+            try {
+                loaded.loadFromString("");
+            } catch (InvalidConfigurationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        ConfigYML existing = shards.putIfAbsent(shardName, loaded);
+        return existing != null ? existing : loaded;
+    }
+
+    /**
+     * Sets the path separator of all shards, has to be set before the first shard is accessed
+     *
+     * @param pathSeparator the path separator
+     * @throws IllegalStateException if a shard has already been loaded
+     */
+    public synchronized void setPathSeparator(char pathSeparator) {
+        if (!shards.isEmpty()) {
+            throw new IllegalStateException("The path separator of " + NAME + " has to be set before any shard is loaded!");
+        }
+        this.pathSeparator = pathSeparator;
+    }
+
+    /**
+     * @return the path separator of all shards
+     */
+    public char getPathSeparator() {
+        return pathSeparator;
+    }
+
+    /**
+     * Loads every shard with a file, needed for operations on the root of the config
+     */
+    private void loadAllShards() {
+        if (allLoaded) {
+            return;
+        }
+        if (shardCount > 0) {
+            for (int i = 0; i < shardCount; i++) {
+                String shardName = "shard-" + i;
+                if (shards.containsKey(shardName) || DIRECTORY.resolve(shardName + ".yml").toFile().isFile()) {
+                    getShardByName(shardName);
+                }
+            }
+        } else {
+            File[] files = DIRECTORY.toFile().listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    if (file.isFile() && file.getName().endsWith(".yml")) {
+                        getShardByName(file.getName().substring(0, file.getName().length() - 4));
+                    }
+                }
+            }
+        }
+        allLoaded = true;
+    }
+
+    @Override
+    public @Nullable String getString(@NotNull String path) {
+        return getShard(path).getString(path);
+    }
+
+    @Override
+    public int getInt(@NotNull String path) {
+        return getShard(path).getInt(path);
+    }
+
+    @Override
+    public double getDouble(@NotNull String path) {
+        return getShard(path).getDouble(path);
+    }
+
+    @Override
+    public long getLong(@NotNull String path) {
+        return getShard(path).getLong(path);
+    }
+
+    @Override
+    public boolean getBoolean(@NotNull String path) {
+        return getShard(path).getBoolean(path);
+    }
+
+    @Override
+    public List<String> getStringList(@NotNull String path) {
+        return getShard(path).getStringList(path);
+    }
+
+    @Override
+    public List<Integer> getIntegerList(@NotNull String path) {
+        return getShard(path).getIntegerList(path);
+    }
+
+    @Override
+    public List<Double> getDoubleList(@NotNull String path) {
+        return getShard(path).getDoubleList(path);
+    }
+
+    @Override
+    public List<Character> getCharacterList(@NotNull String path) {
+        return getShard(path).getCharacterList(path);
+    }
+
+    @Override
+    public List<Long> getLongList(@NotNull String path) {
+        return getShard(path).getLongList(path);
+    }
+
+    @Override
+    public List<Boolean> getBooleanList(@NotNull String path) {
+        return getShard(path).getBooleanList(path);
+    }
+
+    @Override
+    public List<Map<?, ?>> getMapList(@NotNull String path) {
+        return getShard(path).getMapList(path);
+    }
+
+    @Override
+    public <T> T getObject(@NotNull String path, @NotNull Class<T> clazz) {
+        return getShard(path).getObject(path, clazz);
+    }
+
+    @Override
+    public Location getLocation(@NotNull String path) {
+        return getShard(path).getLocation(path);
+    }
+
+    @Override
+    public ItemStack getItemStack(@NotNull String path) {
+        return getShard(path).getItemStack(path);
+    }
+
+    @Override
+    public Color getColor(@NotNull String path) {
+        return getShard(path).getColor(path);
+    }
+
+    @Override
+    public OfflinePlayer getOfflinePlayer(@NotNull String path) {
+        return getShard(path).getOfflinePlayer(path);
+    }
+
+    /**
+     * Gets a section of the config at the set path, a blank path loads every shard.
+     *
+     * @param path path inside the config
+     * @param deep deep search to get children of children
+     * @return {@link Set} of results.
+     */
+    @Override
+    public Set<String> getKeys(String path, boolean deep) {
+        if (path != null && !path.isBlank()) {
+            return getShard(path).getKeys(path, deep);
+        }
+        loadAllShards();
+        Set<String> keys = new LinkedHashSet<>();
+        for (ConfigYML shard : shards.values()) {
+            keys.addAll(shard.getKeys(deep));
+        }
+        return keys;
+    }
+
+    /**
+     * gets a section of the config at the set path, a blank path loads every shard.
+     *
+     * @param path path inside the config if blank, uses the root of the config
+     * @param <T>  type of the map
+     * @return {@link Map} of results.
+     */
+    @Override
+    public <T> Map<String, T> getEntries(@NotNull String path) {
+        if (!path.isBlank()) {
+            return getShard(path).getEntries(path);
+        }
+        loadAllShards();
+        Map<String, T> entries = new LinkedHashMap<>();
+        for (ConfigYML shard : shards.values()) {
+            entries.putAll(shard.getEntries(path));
+        }
+        return entries;
+    }
+
+    @Override
+    public boolean forEach(String path, boolean deep, @NotNull ConfigVisitor visitor) {
+        if (path != null && !path.isBlank()) {
+            return getShard(path).forEach(path, deep, visitor);
+        }
+        loadAllShards();
+        for (ConfigYML shard : shards.values()) {
+            if (!shard.forEach(path, deep, visitor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Stream<Map.Entry<String, Object>> stream(String path, boolean deep) {
+        if (path != null && !path.isBlank()) {
+            return getShard(path).stream(path, deep);
+        }
+        loadAllShards();
+        return shards.values().stream().flatMap(shard -> shard.stream(path, deep));
+    }
+
+    @Override
+    public boolean contains(@NotNull String path) {
+        return getShard(path).contains(path);
+    }
+
+    @Override
+    public void set(@NotNull String path, Object value) {
+        getShard(path).set(path, value);
+    }
+
+    /**
+     * Reloads all shards loaded so far, shards not loaded yet are loaded on first access.
+     * Shards that have never been saved are dropped together with their values.
+     */
+    @Override
+    public void load() {
+        silentLoad();
+        LOGGER.log(Level.INFO, "Loaded " + shards.size() + " shards from " + NAME + "!");
+    }
+
+    @Override
+    public void silentLoad() {
+        for (var entry : shards.entrySet()) {
+            if (entry.getValue().FILE.exists()) {
+                entry.getValue().silentLoad();
+            } else {
+                shards.remove(entry.getKey(), entry.getValue());
+            }
+        }
+        allLoaded = false;
+    }
+
+    /**
+     * Saves all shards changed since they were last loaded or saved
+     */
+    @Override
+    public void save() {
+        int saved = saveDirtyShards();
+        LOGGER.log(Level.INFO, "Saved " + saved + " of " + shards.size() + " shards to " + NAME + "!");
+    }
+
+    @Override
+    public void silentSave() {
+        saveDirtyShards();
+    }
+
+    private int saveDirtyShards() {
+        int saved = 0;
+        for (ConfigYML shard : shards.values()) {
+            if (shard.isDirty()) {
+                shard.silentSave();
+                saved++;
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * @return the amount of shards loaded so far
+     */
+    public int getLoadedShardCount() {
+        return shards.size();
+    }
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public String path() {
+        return DIRECTORY.toString();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ShardedConfigYML[path=%s,name=%s,shards=%d]", DIRECTORY.toString(), NAME, shards.size());
+    }
+}
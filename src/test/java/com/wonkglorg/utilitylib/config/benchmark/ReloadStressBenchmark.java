@@ -0,0 +1,189 @@
+package com.wonkglorg.utilitylib.config.benchmark;
+
+import com.wonkglorg.utilitylib.config.ConfigManager;
+import com.wonkglorg.utilitylib.config.LangManager;
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.host.FileSystemConfigHost;
+import com.wonkglorg.utilitylib.config.types.Config;
+import com.wonkglorg.utilitylib.config.types.ConfigYML;
+import com.wonkglorg.utilitylib.config.types.LangConfig;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures lookup latency of {@link ConfigManager} and {@link LangManager} configs while both managers reload their files in a loop.
+ * Runs headless on a {@link FileSystemConfigHost}, every lookup is checked so reads of a partially loaded config show up as failures.
+ *
+ * <p>Usage:
+ * <pre>
+ *     {@code java -cp <test classpath> com.wonkglorg.utilitylib.config.benchmark.ReloadStressBenchmark [readerThreads] [seconds] [keys]}
+ * </pre>
+ *
+ * @author Wonkglorg
+ */
+@SuppressWarnings("unused")
+public final class ReloadStressBenchmark {
+    /**
+     * The maximum amount of latency samples kept per reader thread
+     */
+    private static final int MAX_SAMPLES_PER_THREAD = 1 << 20;
+
+    private ReloadStressBenchmark() {
+        //utility class
+    }
+
+    public static void main(String[] args) throws Exception {
+        int readerThreads = args.length > 0 ? Integer.parseInt(args[0]) : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int keys = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        System.out.println(run(FileSystemConfigHost.temporary(), readerThreads, seconds * 1000L, keys));
+    }
+
+    /**
+     * Runs the benchmark
+     *
+     * @param host           the host to create the config files in
+     * @param readerThreads  the amount of threads doing lookups
+     * @param durationMillis how long to run the lookups and reloads for
+     * @param keyCount       the amount of keys in each file
+     * @return the measured result
+     * @throws IOException          if the files could not be created
+     * @throws InterruptedException if interrupted while waiting for the threads
+     */
+    public static Result run(@NotNull ConfigHost host, int readerThreads, long durationMillis, int keyCount) throws IOException, InterruptedException {
+        String[] configKeys = new String[keyCount];
+        String[] langKeys = new String[keyCount];
+        StringBuilder configContents = new StringBuilder("values:\n");
+        StringBuilder langContents = new StringBuilder("messages:\n");
+        for (int i = 0; i < keyCount; i++) {
+            configKeys[i] = "values.key-" + i;
+            langKeys[i] = "messages.key-" + i;
+            configContents.append("  key-").append(i).append(": ").append(i).append('\n');
+            langContents.append("  key-").append(i).append(": \"Message ").append(i).append(" for %player%\"\n");
+        }
+        Path directory = host.getDataFolder().toPath().resolve("stress");
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve("config.yml"), configContents, StandardCharsets.UTF_8);
+        Files.writeString(directory.resolve("en.yml"), langContents, StandardCharsets.UTF_8);
+
+        ConfigManager configManager = new ConfigManager(host);
+        Config config = configManager.add("stress", new ConfigYML(host, Path.of("stress", "config.yml")));
+        LangManager langManager = new LangManager(host);
+        langManager.setDefaultLang(Locale.ENGLISH, new LangConfig(host, Path.of("stress", "en.yml")));
+
+        long deadline = System.nanoTime() + durationMillis * 1_000_000L;
+        AtomicLong failures = new AtomicLong();
+        AtomicLong reloads = new AtomicLong();
+        long[][] samples = new long[readerThreads][];
+        long[] lookups = new long[readerThreads];
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < readerThreads; t++) {
+            int index = t;
+            threads.add(new Thread(() -> {
+                long[] latencies = new long[MAX_SAMPLES_PER_THREAD];
+                int recorded = 0;
+                long count = 0;
+                awaitStart(start);
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    int key = random.nextInt(keyCount);
+                    boolean lang = (count & 1) == 1;
+                    long begin = System.nanoTime();
+                    boolean valid;
+                    try {
+                        if (lang) {
+                            String value = langManager.format(Locale.ENGLISH, langKeys[key], "player", "Steve");
+                            valid = value.startsWith("Message ");
+                        } else {
+                            valid = config.getInt(configKeys[key]) == key;
+                        }
+                    } catch (RuntimeException e) {
+                        valid = false;
+                    }
+                    long latency = System.nanoTime() - begin;
+                    if (!valid) {
+                        failures.incrementAndGet();
+                    }
+                    if (recorded < latencies.length) {
+                        latencies[recorded++] = latency;
+                    }
+                    count++;
+                }
+                samples[index] = Arrays.copyOf(latencies, recorded);
+                lookups[index] = count;
+            }, "ReloadStressBenchmark-Reader-" + t));
+        }
+
+        threads.add(new Thread(() -> {
+            awaitStart(start);
+            while (System.nanoTime() < deadline) {
+                configManager.silentLoad();
+                langManager.silentLoad();
+                reloads.incrementAndGet();
+            }
+        }, "ReloadStressBenchmark-Reloader"));
+
+        threads.forEach(Thread::start);
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        configManager.close();
+        langManager.close();
+
+        long[] merged = Arrays.stream(samples).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(readerThreads, Arrays.stream(lookups).sum(), failures.get(), reloads.get(),
+                percentile(merged, 0.50), percentile(merged, 0.90), percentile(merged, 0.99), percentile(merged, 0.999),
+                merged.length == 0 ? 0 : merged[merged.length - 1]);
+    }
+
+    private static void awaitStart(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1)];
+    }
+
+    /**
+     * The result of a benchmark run, all latencies are in nanoseconds
+     *
+     * @param readerThreads the amount of threads doing lookups
+     * @param lookups       the amount of lookups done
+     * @param failures      the amount of lookups that returned a missing or wrong value
+     * @param reloads       the amount of times both managers were reloaded
+     * @param p50           the median lookup latency
+     * @param p90           the 90th percentile lookup latency
+     * @param p99           the 99th percentile lookup latency
+     * @param p999          the 99.9th percentile lookup latency
+     * @param max           the highest sampled lookup latency
+     */
+    public record Result(int readerThreads, long lookups, long failures, long reloads, long p50, long p90, long p99, long p999, long max) {
+
+        @Override
+        public String toString() {
+            return String.format("Result[readers=%d,lookups=%d,failures=%d,reloads=%d,p50=%dns,p90=%dns,p99=%dns,p99.9=%dns,max=%dns]",
+                    readerThreads, lookups, failures, reloads, p50, p90, p99, p999, max);
+        }
+    }
+}
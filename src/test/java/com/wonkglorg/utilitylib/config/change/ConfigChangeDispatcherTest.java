@@ -0,0 +1,115 @@
+package com.wonkglorg.utilitylib.config.change;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.host.FileSystemConfigHost;
+import com.wonkglorg.utilitylib.config.types.ConfigYML;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests notifying path scoped {@link ConfigChangeListener}s after loads of a {@link ConfigYML}
+ *
+ * @author Wonkglorg
+ */
+class ConfigChangeDispatcherTest {
+    @TempDir
+    Path dataFolder;
+    private ConfigHost host;
+
+    @BeforeEach
+    void setUp() {
+        host = new FileSystemConfigHost(dataFolder, null, Logger.getLogger("ConfigChangeDispatcherTest"));
+    }
+
+    private ConfigYML load(String name, String content) throws Exception {
+        Files.writeString(dataFolder.resolve(name), content);
+        ConfigYML config = new ConfigYML(host, name);
+        config.silentLoad();
+        return config;
+    }
+
+    private static Set<String> paths(List<ConfigChange> changes) {
+        return changes.stream().map(ConfigChange::path).collect(Collectors.toSet());
+    }
+
+    @Test
+    void listenersOnlyReceiveChangesBelowTheirPath() throws Exception {
+        ConfigYML config = load("changes.yml", "a:\n  x: 1\n  y: 2\nb:\n  z: 3\n");
+        List<List<ConfigChange>> sectionCalls = new ArrayList<>();
+        List<List<ConfigChange>> rootCalls = new ArrayList<>();
+        List<List<ConfigChange>> leafCalls = new ArrayList<>();
+        config.subscribe("a", (changed, changes) -> sectionCalls.add(changes));
+        config.subscribe("", (changed, changes) -> rootCalls.add(changes));
+        config.subscribe("b.z", (changed, changes) -> leafCalls.add(changes));
+
+        Files.writeString(dataFolder.resolve("changes.yml"), "a:\n  x: 5\n  w: 6\nb:\n  z: 3\n");
+        config.silentLoad();
+
+        assertEquals(1, sectionCalls.size());
+        assertEquals(Set.of("a.x", "a.y", "a.w"), paths(sectionCalls.get(0)));
+        assertEquals(1, rootCalls.size());
+        assertEquals(Set.of("a.x", "a.y", "a.w"), paths(rootCalls.get(0)));
+        assertTrue(leafCalls.isEmpty());
+
+        ConfigChange changed = sectionCalls.get(0).stream().filter(change -> change.path().equals("a.x")).findFirst().orElseThrow();
+        assertEquals(1, changed.oldValue());
+        assertEquals(5, changed.newValue());
+        assertTrue(sectionCalls.get(0).stream().filter(change -> change.path().equals("a.y")).findFirst().orElseThrow().isRemoved());
+        assertTrue(sectionCalls.get(0).stream().filter(change -> change.path().equals("a.w")).findFirst().orElseThrow().isAdded());
+    }
+
+    @Test
+    void unsubscribedListenersAreNotNotified() throws Exception {
+        ConfigYML config = load("unsubscribe.yml", "a: 1\n");
+        List<List<ConfigChange>> calls = new ArrayList<>();
+        ConfigChangeListener listener = (changed, changes) -> calls.add(changes);
+        config.subscribe("a", listener);
+        config.unsubscribe("a", listener);
+
+        Files.writeString(dataFolder.resolve("unsubscribe.yml"), "a: 2\n");
+        config.silentLoad();
+        assertTrue(calls.isEmpty());
+    }
+
+    @Test
+    void listenersRunOnTheChangeExecutor() throws Exception {
+        ConfigYML config = load("executor.yml", "a: 1\n");
+        List<Runnable> tasks = new ArrayList<>();
+        List<List<ConfigChange>> calls = new ArrayList<>();
+        config.setChangeExecutor(tasks::add);
+        config.subscribe("a", (changed, changes) -> calls.add(changes));
+
+        Files.writeString(dataFolder.resolve("executor.yml"), "a: 2\n");
+        config.silentLoad();
+        assertTrue(calls.isEmpty());
+        assertEquals(1, tasks.size());
+        tasks.get(0).run();
+        assertEquals(Set.of("a"), paths(calls.get(0)));
+    }
+
+    @Test
+    void pathsAreSplitByTheConfigSeparator() throws Exception {
+        Files.writeString(dataFolder.resolve("separator.yml"), "a.b:\n  c: 1\nd: 2\n");
+        ConfigYML config = new ConfigYML(host, "separator.yml");
+        config.options().pathSeparator('/');
+        config.silentLoad();
+        List<List<ConfigChange>> calls = new ArrayList<>();
+        config.subscribe("a.b", (changed, changes) -> calls.add(changes));
+
+        Files.writeString(dataFolder.resolve("separator.yml"), "a.b:\n  c: 3\nd: 4\n");
+        config.silentLoad();
+        assertEquals(1, calls.size());
+        assertEquals(Set.of("a.b/c"), paths(calls.get(0)));
+    }
+}
@@ -0,0 +1,98 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import net.kyori.adventure.text.format.TextDecoration;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the parse caching and slot filling of {@link ComponentCache}
+ *
+ * @author Wonkglorg
+ */
+class ComponentCacheTest {
+    private static final MessageTemplate TEMPLATE = MessageTemplate.compile("<red>Hello %a% and %b%</red>", '%');
+
+    private static String plain(Component component) {
+        return PlainTextComponentSerializer.plainText().serialize(component);
+    }
+
+    @Test
+    void miniMessageTemplatesAreParsedOnce() {
+        AtomicInteger parses = new AtomicInteger();
+        ComponentCache cache = new ComponentCache(MiniMessage.builder().preProcessor(source -> {
+            parses.incrementAndGet();
+            return source;
+        }).build());
+
+        assertEquals("Hello Ann and Bob", plain(cache.get(TEMPLATE, "a", "Ann", "b", "Bob")));
+        assertEquals("Hello Cid and Dan", plain(cache.get(TEMPLATE, "a", "Cid", "b", "Dan")));
+        assertEquals(1, parses.get());
+        assertEquals("Hello %a% and %b%", plain(cache.get(TEMPLATE)));
+        assertEquals(2, parses.get());
+    }
+
+    @Test
+    void otherDeserializersParseOnce() {
+        AtomicInteger parses = new AtomicInteger();
+        ComponentCache cache = new ComponentCache(source -> {
+            parses.incrementAndGet();
+            return LegacyComponentSerializer.legacyAmpersand().deserialize(source);
+        });
+        MessageTemplate template = MessageTemplate.compile("&cHello %a% and %b%", '%');
+
+        assertEquals("Hello Ann and Bob", plain(cache.get(template, "a", "Ann", "b", "Bob")));
+        assertEquals("Hello Cid and %b%", plain(cache.get(template, "a", "Cid")));
+        assertEquals("Hello %a% and %b%", plain(cache.get(template)));
+        assertEquals(1, parses.get());
+    }
+
+    @Test
+    void positionalValuesAreFilledByLayout() {
+        ArgumentLayout layout = MessageTemplate.layout("b", "a");
+        ComponentCache cache = new ComponentCache();
+        ComponentCache legacy = new ComponentCache(LegacyComponentSerializer.legacyAmpersand()::deserialize);
+
+        assertEquals("Hello Ann and Bob", plain(cache.get(TEMPLATE, layout, "Bob", "Ann")));
+        assertEquals("Hello %a% and Bob", plain(cache.get(TEMPLATE, layout, "Bob")));
+        assertEquals("Hello Ann and Bob", plain(legacy.get(MessageTemplate.compile("&cHello %a% and %b%", '%'), layout, "Bob", "Ann")));
+    }
+
+    @Test
+    void miniMessageValuesCanNotInjectTagsOrPlaceholders() {
+        ComponentCache cache = new ComponentCache();
+        Component component = cache.get(TEMPLATE, "a", "<bold>%b%", "b", Component.text("Bob", NamedTextColor.BLUE));
+
+        assertEquals("Hello <bold>%b% and Bob", plain(component));
+        assertFalse(containsDecoration(component, TextDecoration.BOLD));
+        assertEquals(NamedTextColor.RED, component.color());
+    }
+
+    @Test
+    void otherDeserializerValuesCanNotInjectPlaceholders() {
+        ComponentCache cache = new ComponentCache(LegacyComponentSerializer.legacyAmpersand()::deserialize);
+        MessageTemplate template = MessageTemplate.compile("Hello %a% and %b%", '%');
+
+        assertEquals("Hello &l%b% and Bob", plain(cache.get(template, "a", "&l%b%", "b", "Bob")));
+        assertEquals("Hello %a% and Ann", plain(cache.get(template, "a", "%a%", "b", "Ann")));
+    }
+
+    private static boolean containsDecoration(Component component, TextDecoration decoration) {
+        if (component.decoration(decoration) == TextDecoration.State.TRUE) {
+            return true;
+        }
+        for (Component child : component.children()) {
+            if (containsDecoration(child, decoration)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,86 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.host.FileSystemConfigHost;
+import com.wonkglorg.utilitylib.config.types.LangConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the template cache and compact table of {@link LangConfig}
+ *
+ * @author Wonkglorg
+ */
+class LangConfigTest {
+    private static final String CONTENT = """
+            placeholders:
+              server: Lobby
+            messages:
+              join: Welcome %player% to %server%
+              leave: Bye %player%
+            """;
+
+    @TempDir
+    Path dataFolder;
+    private ConfigHost host;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        host = new FileSystemConfigHost(dataFolder, null, Logger.getLogger("LangConfigTest"));
+        Files.writeString(dataFolder.resolve("en.yml"), CONTENT);
+    }
+
+    @Test
+    void templatesAreCachedUntilReload() throws Exception {
+        LangConfig config = new LangConfig(host, "en.yml");
+        config.silentLoad();
+        Map<String, String> replacements = Map.of();
+
+        MessageTemplate template = config.getTemplate("messages.join", replacements);
+        assertNotNull(template);
+        assertSame(template, config.getTemplate("messages.join", replacements));
+        assertEquals("Welcome Steve to Lobby", template.render("player", "Steve"));
+
+        Files.writeString(dataFolder.resolve("en.yml"), CONTENT.replace("Lobby", "Survival"));
+        config.silentLoad();
+        MessageTemplate reloaded = config.getTemplate("messages.join", replacements);
+        assertNotSame(template, reloaded);
+        assertEquals("Welcome Steve to Survival", reloaded.render("player", "Steve"));
+    }
+
+    @Test
+    void fallbacksArePerManager() {
+        LangConfig config = new LangConfig(host, "en.yml");
+        config.silentLoad();
+        Map<String, String> first = new java.util.HashMap<>();
+        Map<String, String> second = new java.util.HashMap<>();
+        config.setFallbackValues(first, Map.of("missing", "first"));
+        config.setFallbackValues(second, Map.of("missing", "second"));
+
+        assertEquals("first", config.getTemplate("missing", first).render());
+        assertEquals("second", config.getTemplate("missing", second).render());
+    }
+
+    @Test
+    void compactTableMatchesTree() {
+        LangConfig tree = new LangConfig(host, "en.yml");
+        tree.silentLoad();
+        LangConfig compact = new LangConfig(host, "en.yml");
+        compact.setCompact(true);
+        compact.silentLoad();
+
+        assertTrue(compact.isCompact());
+        assertEquals(tree.getString("messages.join"), compact.getString("messages.join"));
+        assertEquals(tree.getKeys(true), compact.getKeys(true));
+        assertEquals(tree.stream("messages", false).toList(), compact.stream("messages", false).toList());
+        assertEquals(tree.saveToString(), compact.saveToString());
+    }
+}
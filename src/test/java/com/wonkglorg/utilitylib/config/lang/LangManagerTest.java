@@ -0,0 +1,143 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import com.wonkglorg.utilitylib.config.LangManager;
+import com.wonkglorg.utilitylib.config.SharedConfigCache;
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.host.FileSystemConfigHost;
+import com.wonkglorg.utilitylib.config.types.LangConfig;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
+import org.bukkit.entity.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests message bundles, shared lang files and per language rendering for many players of the {@link LangManager}
+ *
+ * @author Wonkglorg
+ */
+class LangManagerTest {
+    @TempDir
+    Path dataFolder;
+    private ConfigHost host;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        host = new FileSystemConfigHost(dataFolder, null, Logger.getLogger("LangManagerTest"));
+        Files.writeString(dataFolder.resolve("en.yml"), "join: Welcome %player%\nbye: Bye\n");
+        Files.writeString(dataFolder.resolve("de.yml"), "join: Willkommen %player%\nbye: Tschuess\nonly: Nur\n");
+        Files.writeString(dataFolder.resolve("fr.yml"), "join: Bienvenue %player%\n");
+    }
+
+    @Test
+    void bundleResolvesMessageKeys() {
+        LangManager manager = new LangManager(host);
+        manager.setDefaultLang(Locale.ENGLISH, new LangConfig(host, "en.yml"));
+        manager.addLanguage(new LangConfig(host, "de.yml"), Locale.GERMAN);
+        MessageKey join = MessageKey.of("join");
+
+        assertEquals("Welcome Steve", manager.format(Locale.ENGLISH, join, "player", "Steve"));
+        assertEquals("Willkommen Steve", manager.format(Locale.GERMAN, join, "player", "Steve"));
+        assertEquals("Welcome Steve", manager.format(Locale.JAPANESE, join, "player", "Steve"));
+        assertEquals("missing", manager.format(Locale.ENGLISH, MessageKey.of("missing")));
+
+        ArgumentLayout layout = MessageTemplate.layout("player");
+        assertEquals("Willkommen Steve", manager.format(Locale.GERMAN, join, layout, "Steve"));
+        assertEquals("Welcome Steve", PlainTextComponentSerializer.plainText().serialize(manager.getComponent(Locale.ENGLISH, join, layout, "Steve")));
+
+        int id = join.id(manager.getBundle());
+        manager.load();
+        assertEquals(id, join.id(manager.getBundle()));
+    }
+
+    @Test
+    void sharedFilesKeepFallbacksPerManager() {
+        SharedConfigCache cache = new SharedConfigCache();
+        LangManager english = new LangManager(host);
+        english.setSharedCache(cache);
+        english.setDefaultLang(Locale.ENGLISH, new LangConfig(host, "en.yml"));
+        english.addLanguage(new LangConfig(host, "fr.yml"), Locale.FRENCH);
+        LangManager german = new LangManager(host);
+        german.setSharedCache(cache);
+        german.setDefaultLang(Locale.GERMAN, new LangConfig(host, "de.yml"));
+        german.addLanguage(new LangConfig(host, "fr.yml"), Locale.FRENCH);
+
+        english.validateLanguages(true);
+        german.validateLanguages(true);
+        assertEquals("Bye", english.getValue(Locale.FRENCH, "bye"));
+        assertEquals("Tschuess", german.getValue(Locale.FRENCH, "bye"));
+
+        LangConfig french = new LangConfig(host, "fr.yml");
+        assertEquals(2, cache.getReferenceCount(french));
+        english.close();
+        assertEquals(1, cache.getReferenceCount(french));
+        german.close();
+        assertEquals(0, cache.size());
+    }
+
+    /**
+     * Creates a player that only knows its locale and records the components sent to it
+     */
+    private static Player player(Locale locale, List<Component> received) {
+        return (Player) Proxy.newProxyInstance(Player.class.getClassLoader(), new Class<?>[]{Player.class}, (proxy, method, args) -> switch (method.getName()) {
+            case "locale" -> locale;
+            case "sendMessage" -> {
+                if (args.length == 1 && args[0] instanceof Component component) {
+                    received.add(component);
+                }
+                yield null;
+            }
+            case "hashCode" -> System.identityHashCode(proxy);
+            case "equals" -> proxy == args[0];
+            case "toString" -> "Player[" + locale + "]";
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    @Test
+    void playersAreGroupedByTheirLanguage() {
+        LangManager manager = new LangManager(host);
+        manager.setDefaultLang(Locale.ENGLISH, new LangConfig(host, "en.yml"));
+        LangConfig germanConfig = new LangConfig(host, "de.yml");
+        manager.addLanguage(germanConfig, Locale.GERMAN);
+        Player english = player(Locale.ENGLISH, new ArrayList<>());
+        Player japanese = player(Locale.JAPANESE, new ArrayList<>());
+        Player german = player(Locale.GERMAN, new ArrayList<>());
+        List<Player> players = List.of(english, japanese, german);
+
+        Map<LangConfig, List<Player>> groups = manager.groupByLang(players);
+        assertEquals(2, groups.size());
+        assertEquals(List.of(german), groups.get(germanConfig));
+
+        Map<String, List<Player>> values = manager.getValues(players, "join", "player", "Steve");
+        assertEquals(Map.of("Welcome Steve", List.of(english, japanese), "Willkommen Steve", List.of(german)), values);
+    }
+
+    @Test
+    void broadcastRendersOncePerLanguage() {
+        LangManager manager = new LangManager(host);
+        manager.setDefaultLang(Locale.ENGLISH, new LangConfig(host, "en.yml"));
+        manager.addLanguage(new LangConfig(host, "de.yml"), Locale.GERMAN);
+        List<Component> english = new ArrayList<>();
+        List<Component> japanese = new ArrayList<>();
+        List<Component> german = new ArrayList<>();
+
+        manager.broadcast(List.of(player(Locale.ENGLISH, english), player(Locale.JAPANESE, japanese), player(Locale.GERMAN, german)), "join", "player", "<bold>Steve");
+        assertEquals(1, english.size());
+        assertSame(english.get(0), japanese.get(0));
+        assertEquals("Welcome <bold>Steve", PlainTextComponentSerializer.plainText().serialize(english.get(0)));
+        assertEquals("Willkommen <bold>Steve", PlainTextComponentSerializer.plainText().serialize(german.get(0)));
+    }
+}
@@ -0,0 +1,79 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.host.FileSystemConfigHost;
+import com.wonkglorg.utilitylib.config.types.LangConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the differences and fallback values reported by the {@link LangValidator}
+ *
+ * @author Wonkglorg
+ */
+class LangValidatorTest {
+    @TempDir
+    Path dataFolder;
+    private ConfigHost host;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        host = new FileSystemConfigHost(dataFolder, null, Logger.getLogger("LangValidatorTest"));
+        Files.writeString(dataFolder.resolve("en.yml"), "join: Welcome %player%\nbye: Bye\nmenu:\n  title: Menu %page%\n  close: Close\n");
+        Files.writeString(dataFolder.resolve("de.yml"), "join: Willkommen %name%\nmenu:\n  title: Menue %page%\nextra: Nur\n");
+    }
+
+    private LangConfig load(String name) {
+        LangConfig config = new LangConfig(host, name);
+        config.silentLoad();
+        return config;
+    }
+
+    @Test
+    void reportsMissingExtraAndMismatchedKeys() {
+        LangConfig english = load("en.yml");
+        LangConfig german = load("de.yml");
+
+        Map<LangConfig, LangDiff> diffs = LangValidator.validate(english, List.of(german, english, german), false);
+        assertEquals(Set.of(german), diffs.keySet());
+        LangDiff diff = diffs.get(german);
+        assertEquals(Set.of("bye", "menu.close"), diff.missingKeys());
+        assertEquals(Set.of("extra"), diff.extraKeys());
+        assertEquals(Map.of("join", Set.of("player", "name")), diff.placeholderMismatches());
+        assertFalse(diff.isEmpty());
+        assertTrue(german.getFallbackValues().isEmpty());
+    }
+
+    @Test
+    void fillsFallbacksFromTheDefaultLanguage() {
+        LangConfig english = load("en.yml");
+        LangConfig german = load("de.yml");
+
+        LangValidator.validate(english, List.of(german), true);
+        assertEquals(Map.of("bye", "Bye", "menu.close", "Close"), german.getFallbackValues());
+        assertEquals("Bye", german.getTemplate("bye", Map.of()).render());
+        assertEquals("Menue 2", german.getTemplate("menu.title", Map.of()).render("page", 2));
+    }
+
+    @Test
+    void fallbacksCanBeScopedToOneManager() {
+        LangConfig english = load("en.yml");
+        LangConfig german = load("de.yml");
+        Map<String, String> replacements = Map.of("server", "Lobby");
+
+        LangValidator.validate(english, List.of(german), true, replacements);
+        assertEquals(Map.of("bye", "Bye", "menu.close", "Close"), german.getFallbackValues(replacements));
+        assertTrue(german.getFallbackValues().isEmpty());
+        assertEquals("Bye", german.getTemplate("bye", replacements).render());
+    }
+}
@@ -0,0 +1,44 @@
+package com.wonkglorg.utilitylib.config.lang;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests compiling and rendering of {@link MessageTemplate} by named and positional arguments
+ *
+ * @author Wonkglorg
+ */
+class MessageTemplateTest {
+    private static final MessageTemplate TEMPLATE = MessageTemplate.compile("%player% paid %amount% to %player%", '%');
+
+    @Test
+    void rendersNamedArgumentsInAnyOrder() {
+        assertEquals("Ann paid 5 to Ann", TEMPLATE.render("player", "Ann", "amount", 5));
+        assertEquals("Ann paid 5 to Ann", TEMPLATE.render("amount", 5, "player", "Ann"));
+        assertEquals("Ann paid %amount% to Ann", TEMPLATE.render("player", "Ann"));
+        assertEquals("%player% paid %amount% to %player%", TEMPLATE.render());
+    }
+
+    @Test
+    void rendersPositionalValuesByLayout() {
+        ArgumentLayout layout = MessageTemplate.layout("amount", "player");
+
+        assertEquals("Ann paid 5 to Ann", TEMPLATE.render(layout, 5, "Ann"));
+        assertEquals("Bob paid 7 to Bob", TEMPLATE.render(layout, 7, "Bob"));
+        assertEquals("%player% paid 5 to %player%", TEMPLATE.render(layout, 5));
+        assertEquals("Ann", TEMPLATE.getArgument(0, layout, 5, "Ann"));
+        assertEquals(5, TEMPLATE.getArgument(1, layout, 5, "Ann"));
+    }
+
+    @Test
+    void switchingLayoutsResolvesSlotsAgain() {
+        ArgumentLayout playerFirst = MessageTemplate.layout("player", "amount");
+        ArgumentLayout unrelated = MessageTemplate.layout("world");
+
+        assertEquals("Ann paid 5 to Ann", TEMPLATE.render(playerFirst, "Ann", 5));
+        assertEquals("%player% paid %amount% to %player%", TEMPLATE.render(unrelated, "Lobby"));
+        assertEquals("Bob paid 7 to Bob", TEMPLATE.render(playerFirst, "Bob", 7));
+        assertEquals(-1, unrelated.indexOf("player"));
+    }
+}
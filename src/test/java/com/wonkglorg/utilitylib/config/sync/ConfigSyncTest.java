@@ -0,0 +1,94 @@
+package com.wonkglorg.utilitylib.config.sync;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.host.FileSystemConfigHost;
+import com.wonkglorg.utilitylib.config.types.ConfigYML;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests that synced configs converge
+ *
+ * @author Wonkglorg
+ */
+class ConfigSyncTest {
+    @TempDir
+    Path dataFolder;
+    private ConfigHost host;
+
+    @BeforeEach
+    void setUp() {
+        host = new FileSystemConfigHost(dataFolder, null, Logger.getLogger("ConfigSyncTest"));
+    }
+
+    private static Map<String, Object> leafValues(ConfigYML config) {
+        return config.stream("", true).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+    }
+
+    @Test
+    void changesOfBothNodesConverge() {
+        ConfigYML first = new ConfigYML(host, "first.yml");
+        first.silentLoad();
+        ConfigYML second = new ConfigYML(host, "second.yml");
+        second.silentLoad();
+        LocalSyncTransport firstTransport = new LocalSyncTransport();
+        ConfigSync firstSync = new ConfigSync("first", firstTransport);
+        ConfigSync secondSync = new ConfigSync("second", firstTransport.connect());
+        firstSync.track("shared", first);
+        secondSync.track("shared", second);
+
+        first.set("x", 1);
+        second.set("y", 2);
+        firstSync.publishChanges();
+        secondSync.publishChanges();
+        assertEquals(leafValues(first), leafValues(second));
+
+        first.set("z", 1);
+        second.set("z", 2);
+        firstSync.publishChanges();
+        secondSync.publishChanges();
+        assertEquals(leafValues(first), leafValues(second));
+        assertEquals(firstSync.getVersion("shared"), secondSync.getVersion("shared"));
+
+        firstSync.close();
+        secondSync.close();
+    }
+
+    @Test
+    void fileTransportKeepsTheSeparatorOfTheConfig() throws Exception {
+        ConfigYML first = new ConfigYML(host, "first.yml");
+        first.options().pathSeparator('/');
+        first.silentLoad();
+        ConfigYML second = new ConfigYML(host, "second.yml");
+        second.options().pathSeparator('/');
+        second.silentLoad();
+        Path directory = dataFolder.resolve("sync");
+        ConfigSync firstSync = new ConfigSync("first", new FileSyncTransport(directory, 10, 60_000, TimeUnit.MILLISECONDS));
+        ConfigSync secondSync = new ConfigSync("second", new FileSyncTransport(directory, 10, 60_000, TimeUnit.MILLISECONDS));
+        firstSync.track("shared", first);
+        secondSync.track("shared", second);
+
+        first.set("players/alice.smith/coins", 5);
+        first.set("version", 2);
+        first.set("version.name", "1.0");
+        firstSync.publishChanges();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!leafValues(first).equals(leafValues(second)) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Map.of("players/alice.smith/coins", 5, "version", 2, "version.name", "1.0"), leafValues(second));
+
+        firstSync.close();
+        secondSync.close();
+    }
+}
@@ -0,0 +1,120 @@
+package com.wonkglorg.utilitylib.config.types;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests replaying {@link ConfigJournal}s, including torn and damaged records
+ *
+ * @author Wonkglorg
+ */
+class ConfigJournalTest {
+    private static final Logger LOGGER = Logger.getLogger("ConfigJournalTest");
+
+    @TempDir
+    Path folder;
+
+    private Map<String, Object> replay(Path file) throws Exception {
+        Map<String, Object> records = new LinkedHashMap<>();
+        try (ConfigJournal journal = new ConfigJournal(file, LOGGER)) {
+            journal.replay(records::put);
+        }
+        return records;
+    }
+
+    @Test
+    void replaysAllValueTypes() throws Exception {
+        Path file = folder.resolve("data.journal");
+        try (ConfigJournal journal = new ConfigJournal(file, LOGGER)) {
+            journal.append("string", "text");
+            journal.append("int", 1);
+            journal.append("long", 2L);
+            journal.append("double", 3.5);
+            journal.append("boolean", true);
+            journal.append("map", Map.of("x", Map.of("y", 4)));
+            journal.append("removed", null);
+            journal.commit();
+        }
+
+        Map<String, Object> records = replay(file);
+        assertEquals("text", records.get("string"));
+        assertEquals(1, records.get("int"));
+        assertEquals(2L, records.get("long"));
+        assertEquals(3.5, records.get("double"));
+        assertEquals(true, records.get("boolean"));
+        assertEquals(Map.of("x", Map.of("y", 4)), records.get("map"));
+        assertTrue(records.containsKey("removed"));
+        assertNull(records.get("removed"));
+    }
+
+    @Test
+    void tornTailIsCutOff() throws Exception {
+        Path file = folder.resolve("torn.journal");
+        try (ConfigJournal journal = new ConfigJournal(file, LOGGER)) {
+            journal.append("a", 1);
+            journal.append("b", 2);
+            journal.commit();
+        }
+        long length = Files.size(file);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.setLength(length - 2);
+        }
+
+        assertEquals(Map.of("a", 1), replay(file));
+        assertTrue(Files.size(file) < length - 2);
+    }
+
+    @Test
+    void damagedRecordIsSkipped() throws Exception {
+        Path file = folder.resolve("damaged.journal");
+        try (ConfigJournal journal = new ConfigJournal(file, LOGGER)) {
+            journal.append("a", 1);
+            journal.append("b", 2);
+            journal.append("c", 3);
+            journal.commit();
+        }
+        long length = Files.size(file);
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            //flip a byte inside the payload of the second record
+            long position = length / 2;
+            randomAccessFile.seek(position);
+            int value = randomAccessFile.read();
+            randomAccessFile.seek(position);
+            randomAccessFile.write(value ^ 0xFF);
+        }
+
+        assertEquals(Map.of("a", 1, "c", 3), replay(file));
+        assertEquals(length, Files.size(file));
+    }
+
+    @Test
+    void damagedLengthIsSkippedWithoutCuttingOff() throws Exception {
+        for (int damagedLength : new int[]{Integer.MAX_VALUE, 1, 40, -5}) {
+            Path file = folder.resolve("length-" + damagedLength + ".journal");
+            try (ConfigJournal journal = new ConfigJournal(file, LOGGER)) {
+                journal.append("a", 1);
+                journal.append("b", 2);
+                journal.append("c", 3);
+                journal.commit();
+            }
+            long length = Files.size(file);
+            try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+                //the length follows the marker of the second record, all records have the same size
+                randomAccessFile.seek(length / 3 + 4);
+                randomAccessFile.writeInt(damagedLength);
+            }
+
+            assertEquals(Map.of("a", 1, "c", 3), replay(file), "length " + damagedLength);
+            assertEquals(length, Files.size(file), "length " + damagedLength);
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.wonkglorg.utilitylib.config.types;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.host.FileSystemConfigHost;
+import com.wonkglorg.utilitylib.config.schema.ConfigSchema;
+import com.wonkglorg.utilitylib.config.schema.SchemaField;
+import com.wonkglorg.utilitylib.config.schema.SchemaViolation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests loading, saving and concurrent access of {@link ConfigYML} on a file system host
+ *
+ * @author Wonkglorg
+ */
+class ConfigYMLTest {
+    private static final int KEYS = 10_000;
+
+    @TempDir
+    Path dataFolder;
+    private ConfigHost host;
+
+    @BeforeEach
+    void setUp() {
+        host = new FileSystemConfigHost(dataFolder, null, Logger.getLogger("ConfigYMLTest"));
+    }
+
+    private ConfigYML filledConfig(String name) {
+        ConfigYML config = new ConfigYML(host, name);
+        config.silentLoad();
+        ConfigYML.Batch batch = config.batch();
+        for (int i = 0; i < KEYS; i++) {
+            batch.set("section" + (i % 100) + ".key" + i, i);
+        }
+        batch.apply();
+        return config;
+    }
+
+    @Test
+    void saveAndLoadRoundTrip() {
+        ConfigYML config = filledConfig("data.yml");
+        config.silentSave();
+        ConfigYML loaded = new ConfigYML(host, "data.yml");
+        loaded.silentLoad();
+
+        for (int i = 0; i < KEYS; i++) {
+            assertEquals(i, loaded.getInt("section" + (i % 100) + ".key" + i));
+        }
+    }
+
+    @Test
+    void lookupsDuringReloadsNeverMissValues() throws Exception {
+        ConfigYML config = filledConfig("stress.yml");
+        config.silentSave();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        //readers and the reloader all start together so the reloads can not finish before the first read
+        CountDownLatch start = new CountDownLatch(5);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> misses = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            misses.add(readers.submit(() -> {
+                start.countDown();
+                start.await();
+                int missed = 0;
+                int i = 0;
+                while (running.get()) {
+                    int key = i++ % KEYS;
+                    if (config.get("section" + (key % 100) + ".key" + key) == null) {
+                        missed++;
+                    }
+                    reads.incrementAndGet();
+                }
+                return missed;
+            }));
+        }
+        start.countDown();
+        start.await();
+        int overlappingReloads = 0;
+        for (int reload = 0; reload < 20; reload++) {
+            long readsBefore = reads.get();
+            config.silentLoad();
+            if (reads.get() > readsBefore) {
+                overlappingReloads++;
+            }
+        }
+        running.set(false);
+        readers.shutdown();
+        for (Future<Integer> missed : misses) {
+            assertEquals(0, missed.get(30, TimeUnit.SECONDS));
+        }
+        assertTrue(overlappingReloads > 0, "no reload overlapped a read");
+    }
+
+    @Test
+    void batchIsAppliedAtOnce() {
+        ConfigYML config = new ConfigYML(host, "batch.yml");
+        config.silentLoad();
+        config.set("a.x", 1);
+        config.batch().set("a.b", 2).set("q.r.s", 3).set("a.x", null).apply();
+
+        assertNull(config.get("a.x"));
+        assertEquals(2, config.getInt("a.b"));
+        assertEquals(3, config.getInt("q.r.s"));
+    }
+
+    @Test
+    void readersNeverSeePartialBatches() throws Exception {
+        ConfigYML config = new ConfigYML(host, "batch-readers.yml");
+        config.silentLoad();
+        config.batch().set("a.x", 0).set("b.y", 0).set("c", 0).apply();
+
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        List<Future<Integer>> mismatches = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            mismatches.add(readers.submit(() -> {
+                int mismatched = 0;
+                while (running.get()) {
+                    Map<String, Object> values = config.getValues(true);
+                    if (!values.get("a.x").equals(values.get("b.y")) || !values.get("a.x").equals(values.get("c"))) {
+                        mismatched++;
+                    }
+                }
+                return mismatched;
+            }));
+        }
+        for (int i = 1; i <= 2_000; i++) {
+            config.batch().set("a.x", i).set("b.y", i).set("c", i).apply();
+        }
+        running.set(false);
+        readers.shutdown();
+        for (Future<Integer> mismatched : mismatches) {
+            assertEquals(0, mismatched.get(30, TimeUnit.SECONDS));
+        }
+        assertEquals(2_000, config.getInt("b.y"));
+    }
+
+    @Test
+    void sectionsWriteThroughTheConfig() {
+        ConfigYML config = new ConfigYML(host, "sections.yml");
+        config.silentLoad();
+        config.set("a.x", 1);
+        var section = config.getConfigurationSection("a");
+
+        assertNotNull(section);
+        assertSame(config, section.getRoot());
+        section.set("y.z", 2);
+        assertEquals(2, config.getInt("a.y.z"));
+    }
+
+    @Test
+    void compressedRoundTrip() throws Exception {
+        for (ConfigCompression compression : ConfigCompression.values()) {
+            String name = "data-" + compression.name().toLowerCase() + ".yml";
+            ConfigYML config = filledConfig(name);
+            config.setCompression(compression);
+            config.silentSave();
+
+            ConfigYML loaded = new ConfigYML(host, name);
+            loaded.setCompression(compression);
+            loaded.silentLoad();
+            assertEquals(config.stream("", true).toList(), loaded.stream("", true).toList(), compression.name());
+            if (compression != ConfigCompression.NONE) {
+                assertTrue(Files.size(dataFolder.resolve(name)) < config.saveToString().length(), compression.name());
+            }
+        }
+    }
+
+    @Test
+    void journalRestoresUnsavedWrites() throws Exception {
+        ConfigYML config = new ConfigYML(host, "journaled.yml");
+        config.enableJournal(0, TimeUnit.SECONDS);
+        config.silentLoad();
+        config.set("a", 1);
+        config.set("b.c", "text");
+        config.getJournal().commit();
+
+        ConfigYML recovered = new ConfigYML(host, "journaled.yml");
+        recovered.enableJournal(0, TimeUnit.SECONDS);
+        recovered.silentLoad();
+        assertEquals(1, recovered.getInt("a"));
+        assertEquals("text", recovered.getString("b.c"));
+    }
+
+    @Test
+    void visitorReceivesLeavesAndSectionsSeparately() {
+        ConfigYML config = new ConfigYML(host, "visit.yml");
+        config.silentLoad();
+        config.batch().set("a.b", 1).set("a.c.d", 2).set("e", 3).apply();
+
+        List<String> visited = new ArrayList<>();
+        config.forEach("", true, new ConfigVisitor() {
+            @Override
+            public boolean visit(String path, Object value) {
+                visited.add(path);
+                return true;
+            }
+
+            @Override
+            public boolean visitSection(String path) {
+                visited.add("[" + path + "]");
+                return true;
+            }
+        });
+        assertEquals(List.of("[a]", "a.b", "[a.c]", "a.c.d", "e"), visited);
+        assertEquals(List.of("a.b", "a.c.d", "e"), config.stream("", true).map(entry -> entry.getKey()).toList());
+    }
+
+    @Test
+    void schemaFallsBackToDefaultOutsideOfRange() throws Exception {
+        ConfigYML config = new ConfigYML(host, "schema-range.yml");
+        config.loadFromString("homes:\n  max: 500\n");
+        List<SchemaViolation> violations = config.setSchema(ConfigSchema.builder()
+                .add(SchemaField.ofInt("homes.max").range(1, 100).defaultValue(5))
+                .build());
+
+        assertEquals(List.of("homes.max"), violations.stream().map(SchemaViolation::path).toList());
+        assertEquals(5, config.getInt("homes.max"));
+        config.set("homes.max", 20);
+        assertEquals(20, config.getInt("homes.max"));
+        config.set("homes.max", 200);
+        assertEquals(5, config.getInt("homes.max"));
+        config.loadFromString("homes:\n  max: 42\n");
+        assertEquals(42, config.getInt("homes.max"));
+    }
+
+    @Test
+    void schemaReportsMissingRequiredValues() throws Exception {
+        ConfigYML config = new ConfigYML(host, "schema-required.yml");
+        config.loadFromString("other: 1\n");
+        List<SchemaViolation> violations = config.setSchema(ConfigSchema.builder()
+                .add(SchemaField.ofString("database.url").required())
+                .add(SchemaField.ofInt("database.port").defaultValue(3306))
+                .build());
+
+        assertEquals(List.of("database.url"), violations.stream().map(SchemaViolation::path).toList());
+        assertNull(config.getString("database.url"));
+        assertEquals(3306, config.getInt("database.port"));
+        config.set("database.url", "jdbc:test");
+        assertEquals("jdbc:test", config.getString("database.url"));
+        assertTrue(config.validateSchema().isEmpty());
+        config.setSchema(null);
+        assertEquals(0, config.getInt("database.port"));
+    }
+
+    @Test
+    void schemaRevalidatesFieldsWhenParentsOrChildrenAreWritten() {
+        ConfigYML config = new ConfigYML(host, "schema-parents.yml");
+        config.silentLoad();
+        config.setSchema(ConfigSchema.builder().add(SchemaField.ofInt("a.b").defaultValue(7)).build());
+
+        config.set("a.b", 3);
+        assertEquals(3, config.getInt("a.b"));
+        config.set("a.b.c", 1);
+        assertEquals(7, config.getInt("a.b"));
+        config.createSection("a", Map.of("b", 9));
+        assertEquals(9, config.getInt("a.b"));
+        config.set("a", null);
+        assertEquals(7, config.getInt("a.b"));
+        config.batch().set("a.b", 4).apply();
+        assertEquals(4, config.getInt("a.b"));
+    }
+
+    @Test
+    void schemaUsesThePathSeparatorOfTheConfig() {
+        ConfigYML config = new ConfigYML(host, "schema-separator.yml");
+        config.options().pathSeparator('/');
+        config.silentLoad();
+        config.setSchema(ConfigSchema.builder().add(SchemaField.ofInt("a/b").defaultValue(7)).build());
+
+        config.set("a/b", 3);
+        assertEquals(3, config.getInt("a/b"));
+        config.set("a", null);
+        assertEquals(7, config.getInt("a/b"));
+    }
+}
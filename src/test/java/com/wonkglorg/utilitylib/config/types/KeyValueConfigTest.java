@@ -0,0 +1,114 @@
+package com.wonkglorg.utilitylib.config.types;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.host.FileSystemConfigHost;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the log of a {@link KeyValueConfig}
+ *
+ * @author Wonkglorg
+ */
+class KeyValueConfigTest {
+    @TempDir
+    Path dataFolder;
+    private ConfigHost host;
+
+    @BeforeEach
+    void setUp() {
+        host = new FileSystemConfigHost(dataFolder, null, Logger.getLogger("KeyValueConfigTest"));
+    }
+
+    @Test
+    void writesAreReplayedOnLoad() {
+        KeyValueConfig config = new KeyValueConfig(host, "players.dat");
+        config.silentLoad();
+        config.set("alice.coins", 5);
+        config.set("alice.home", Map.of("x", 1, "z", 2));
+        config.set("bob.coins", 3);
+        config.set("bob", null);
+        config.silentSave();
+
+        KeyValueConfig loaded = new KeyValueConfig(host, "players.dat");
+        loaded.silentLoad();
+        assertEquals(5, loaded.getInt("alice.coins"));
+        assertEquals(Map.of("x", 1, "z", 2), loaded.getObject("alice.home", Map.class));
+        assertFalse(loaded.contains("bob"));
+        assertTrue(loaded.contains("alice"));
+    }
+
+    @Test
+    void importCopiesLeafValues() {
+        ConfigYML source = new ConfigYML(host, "source.yml");
+        source.silentLoad();
+        source.batch().set("a.b", 1).set("a.c.d", "text").apply();
+
+        KeyValueConfig config = new KeyValueConfig(host, "imported.dat");
+        config.silentLoad();
+        config.importFrom(source);
+        assertEquals(1, config.getInt("a.b"));
+        assertEquals("text", config.getString("a.c.d"));
+    }
+
+    @Test
+    void sectionsOnlyContainTheirOwnPaths() {
+        KeyValueConfig config = new KeyValueConfig(host, "sections.dat");
+        config.silentLoad();
+        config.set("a.b", 1);
+        config.set("a.c.d", 2);
+        config.set("ab.x", 3);
+        config.set("a-b", 4);
+        config.set("a.c", 5);
+
+        assertEquals(Set.of("b", "c"), config.getKeys("a", true));
+        assertEquals(Map.of("b", 1, "c", 5), config.getEntries("a"));
+        assertEquals(Set.of("a", "ab", "a-b"), config.getKeys("", false));
+        assertEquals(List.of("a.b", "a.c"), config.stream("", true).map(Map.Entry::getKey).filter(key -> key.startsWith("a.")).toList());
+    }
+
+    @Test
+    void pathsAreSplitByTheConfiguredSeparator() {
+        KeyValueConfig config = new KeyValueConfig(host, "separator.dat");
+        config.setPathSeparator('/');
+        config.silentLoad();
+        config.set("alice/home.name", "Home");
+        config.set("alice/coins", 5);
+
+        assertTrue(config.contains("alice"));
+        assertEquals(Set.of("home.name", "coins"), config.getKeys("alice", false));
+        config.set("alice", null);
+        assertEquals(0, config.size());
+        config.set("bob", 1);
+        assertThrows(IllegalStateException.class, () -> config.setPathSeparator('.'));
+    }
+
+    @Test
+    void commitIntervalWritesWithoutSaving() throws Exception {
+        KeyValueConfig config = new KeyValueConfig(host, "interval.dat");
+        config.silentLoad();
+        config.setCommitInterval(10, TimeUnit.MILLISECONDS);
+        config.set("alice.coins", 5);
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        int coins = 0;
+        while (coins != 5 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            KeyValueConfig loaded = new KeyValueConfig(host, "interval.dat");
+            loaded.silentLoad();
+            coins = loaded.getInt("alice.coins");
+        }
+        config.setCommitInterval(0, TimeUnit.MILLISECONDS);
+        assertEquals(5, coins);
+    }
+}
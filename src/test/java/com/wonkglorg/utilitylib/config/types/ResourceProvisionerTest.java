@@ -0,0 +1,118 @@
+package com.wonkglorg.utilitylib.config.types;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.host.FileSystemConfigHost;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.logging.Logger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the bulk file creation of {@link ResourceProvisioner}
+ *
+ * @author Wonkglorg
+ */
+class ResourceProvisionerTest {
+    @TempDir
+    Path dataFolder;
+    @TempDir
+    Path resourceFolder;
+
+    /**
+     * A file system host reading its default resources from a jar
+     */
+    private record JarHost(ConfigHost host, File jar) implements ConfigHost {
+        @Override
+        public @NotNull File getDataFolder() {
+            return host.getDataFolder();
+        }
+
+        @Override
+        public @Nullable InputStream getResource(@NotNull String name) {
+            return host.getResource(name);
+        }
+
+        @Override
+        public @NotNull Logger getLogger() {
+            return host.getLogger();
+        }
+
+        @Override
+        public @Nullable File getSourceJar() {
+            return jar;
+        }
+    }
+
+    private File createJar(Map<String, String> entries) throws IOException {
+        File jar = resourceFolder.resolve("plugin.jar").toFile();
+        try (JarOutputStream outputStream = new JarOutputStream(Files.newOutputStream(jar.toPath()))) {
+            outputStream.putNextEntry(new JarEntry("lang/"));
+            outputStream.closeEntry();
+            for (var entry : entries.entrySet()) {
+                outputStream.putNextEntry(new JarEntry(entry.getKey()));
+                outputStream.write(entry.getValue().getBytes(StandardCharsets.UTF_8));
+                outputStream.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    @Test
+    void extractsMissingResourcesFromTheJar() throws IOException {
+        File jar = createJar(Map.of("config.yml", "a: 1\n", "lang/en.yml", "join: Welcome\n"));
+        ConfigHost host = new JarHost(new FileSystemConfigHost(dataFolder, null, Logger.getLogger("ResourceProvisionerTest")), jar);
+        Files.writeString(dataFolder.resolve("existing.yml"), "b: 2\n");
+
+        ConfigYML config = new ConfigYML(host, "config.yml");
+        ConfigYML backup = new ConfigYML(host, Path.of("config.yml"), Path.of("backup", "config.yml"));
+        ConfigYML duplicate = new ConfigYML(host, "config.yml");
+        ConfigYML lang = new ConfigYML(host, Path.of("lang", "en.yml"));
+        ConfigYML missing = new ConfigYML(host, "missing.yml");
+        ConfigYML existing = new ConfigYML(host, "existing.yml");
+
+        assertEquals(4, ResourceProvisioner.provision(host, List.of(config, backup, duplicate, lang, missing, existing)));
+        assertEquals("a: 1\n", Files.readString(dataFolder.resolve("config.yml")));
+        assertEquals("a: 1\n", Files.readString(dataFolder.resolve("backup").resolve("config.yml")));
+        assertEquals("join: Welcome\n", Files.readString(dataFolder.resolve("lang").resolve("en.yml")));
+        assertEquals("", Files.readString(dataFolder.resolve("missing.yml")));
+        assertEquals("b: 2\n", Files.readString(dataFolder.resolve("existing.yml")));
+        for (ConfigYML yml : List.of(config, backup, lang, missing, existing)) {
+            assertTrue(yml.isProvisioned(), yml.toString());
+        }
+
+        config.silentLoad();
+        lang.silentLoad();
+        assertEquals(1, config.getInt("a"));
+        assertEquals("Welcome", lang.getString("join"));
+        assertEquals(0, ResourceProvisioner.provision(host, List.of(config, backup, lang, missing, existing)));
+    }
+
+    @Test
+    void fallsBackToResourceLookupsWithoutAJar() throws IOException {
+        Files.writeString(resourceFolder.resolve("config.yml"), "a: 1\n");
+        ConfigHost host = new FileSystemConfigHost(dataFolder, resourceFolder, Logger.getLogger("ResourceProvisionerTest"));
+
+        ConfigYML config = new ConfigYML(host, "config.yml");
+        ConfigYML missing = new ConfigYML(host, "missing.yml");
+
+        assertEquals(2, ResourceProvisioner.provision(host, List.of(config, missing)));
+        assertEquals("a: 1\n", Files.readString(dataFolder.resolve("config.yml")));
+        assertTrue(Files.exists(dataFolder.resolve("missing.yml")));
+        assertTrue(config.isProvisioned());
+        assertTrue(missing.isProvisioned());
+    }
+}
@@ -0,0 +1,81 @@
+package com.wonkglorg.utilitylib.config.types;
+
+import com.wonkglorg.utilitylib.config.host.ConfigHost;
+import com.wonkglorg.utilitylib.config.host.FileSystemConfigHost;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests lazy loading and saving of {@link ShardedConfigYML} shards
+ *
+ * @author Wonkglorg
+ */
+class ShardedConfigYMLTest {
+    @TempDir
+    Path dataFolder;
+    private ConfigHost host;
+
+    @BeforeEach
+    void setUp() {
+        host = new FileSystemConfigHost(dataFolder, null, Logger.getLogger("ShardedConfigYMLTest"));
+    }
+
+    @Test
+    void lookupsDoNotCreateShardFiles() {
+        ShardedConfigYML config = new ShardedConfigYML(host, Path.of("homes"), 8);
+
+        assertNull(config.getString("alice.home"));
+        assertTrue(config.getKeys("", false).isEmpty());
+        assertFalse(Files.exists(dataFolder.resolve("homes")));
+    }
+
+    @Test
+    void shardsAreOnlyLoadedWhenAccessed() {
+        ShardedConfigYML config = new ShardedConfigYML(host, Path.of("homes"), 8);
+        config.set("alice.home", 1);
+        config.set("bob.home", 2);
+        config.silentSave();
+
+        ShardedConfigYML reloaded = new ShardedConfigYML(host, Path.of("homes"), 8);
+        assertEquals(0, reloaded.getLoadedShardCount());
+        assertEquals(1, reloaded.getInt("alice.home"));
+        assertTrue(reloaded.getLoadedShardCount() >= 1);
+        assertEquals(Set.of("alice", "bob"), reloaded.getKeys("", false));
+    }
+
+    @Test
+    void streamsLeafValuesOfAllShards() {
+        ShardedConfigYML config = new ShardedConfigYML(host, Path.of("homes"), 8);
+        config.set("alice.home.x", 1);
+        config.set("bob.home.x", 2);
+        config.set("bob.name", "Bob");
+
+        Map<String, Object> values = config.stream("", true).collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
+        assertEquals(Map.of("alice.home.x", 1, "bob.home.x", 2, "bob.name", "Bob"), values);
+        assertEquals(List.of("home.x", "name"), config.stream("bob", true).map(Map.Entry::getKey).sorted().toList());
+    }
+
+    @Test
+    void shardsUseTheConfiguredSeparator() {
+        ShardedConfigYML config = new ShardedConfigYML(host, Path.of("homes"), key -> key);
+        config.setPathSeparator('/');
+        config.set("alice/home.name", "Alice's home");
+        config.set("bob/home.name", "Bob's home");
+
+        assertEquals("Alice's home", config.getString("alice/home.name"));
+        assertEquals(2, config.getLoadedShardCount());
+        assertEquals(Set.of("alice", "bob"), config.getKeys("", false));
+        assertThrows(IllegalStateException.class, () -> config.setPathSeparator('.'));
+    }
+}